@@ -0,0 +1,27 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.TechmaaStudentPortalApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// boots the application against an in-memory H2 database for benchmarks that need the persistence layer
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        SpringApplication application = new SpringApplication(TechmaaStudentPortalApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=" + JwtParsingBenchmark.SECRET,
+                "--logging.level.root=WARN");
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.enums.Department;
+import org.example.techmaastudentportal.enums.Gender;
+import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// deterministic student fixtures shared by the benchmarks
+final class BenchmarkData {
+    private static final Department[] DEPARTMENTS = Department.values();
+    private static final Gender[] GENDERS = Gender.values();
+
+    private BenchmarkData() {
+    }
+
+    static List<Student> students(int count) {
+        List<Course> courses = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            Course course = new Course();
+            course.setId(i);
+            course.setTitle("Course " + i);
+            courses.add(course);
+        }
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Student student = new Student();
+            student.setId((long) i);
+            student.setRollNo(String.format("STU%06d", i));
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@bench.local");
+            student.setPhone(String.format("9%09d", i));
+            student.setRole(UserRole.STUDENT);
+            student.setCourse(courses.get(i % courses.size()));
+            student.setDepartment(DEPARTMENTS[i % DEPARTMENTS.length]);
+            student.setGender(GENDERS[i % GENDERS.length]);
+            student.setAddress(i + " Residency Road, Pune");
+            student.setAge(18 + i % 6);
+            student.setAcademicYear(1 + i % 4);
+            student.setSemester(1 + i % 8);
+            student.setMarks((double) (i % 100));
+            students.add(student);
+        }
+        return students;
+    }
+}
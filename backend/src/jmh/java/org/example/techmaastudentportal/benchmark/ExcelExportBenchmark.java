@@ -0,0 +1,74 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.CourseRepository;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.service.AdminService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// AdminService.writeStudentsToExcel end to end, the path behind the export endpoint: rows stream from the
+// database cursor through the streaming workbook into the output, nothing is collected in between
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ExcelExportBenchmark {
+
+    private static final int SEED_CHUNK = 5_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AdminService adminService;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        adminService = context.getBean(AdminService.class);
+        seed(context);
+        out = new ByteArrayOutputStream();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int writeStudentsToExcel() throws IOException {
+        out.reset();
+        adminService.writeStudentsToExcel(new StudentFilterReqDTO(), out);
+        return out.size();
+    }
+
+    // the fixtures carry ids for the in-memory benchmarks, here the database assigns them
+    private void seed(ConfigurableApplicationContext context) {
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Student> students = BenchmarkData.students(rows);
+        List<Course> courses = students.stream().map(Student::getCourse).distinct().toList();
+        courses.forEach(course -> course.setId(null));
+        transactionTemplate.executeWithoutResult(status -> courseRepository.saveAll(courses));
+        students.forEach(student -> student.setId(null));
+        for (int from = 0; from < students.size(); from += SEED_CHUNK) {
+            List<Student> chunk = students.subList(from, Math.min(from + SEED_CHUNK, students.size()));
+            transactionTemplate.executeWithoutResult(status -> studentRepository.saveAll(chunk));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.techmaastudentportal.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// compares two JMH json result files (e.g. from two commits) benchmark by benchmark:
+//   ./mvnw -Pbenchmark test -Djmh.main=org.example.techmaastudentportal.benchmark.JmhResultComparison -Djmh.args="baseline.json target/jmh-result.json"
+public final class JmhResultComparison {
+
+    private JmhResultComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: JmhResultComparison <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode now = entry.getValue().path("primaryMetric");
+            JsonNode before = baseline.containsKey(entry.getKey()) ? baseline.get(entry.getKey()).path("primaryMetric") : null;
+            String unit = now.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.path("score").asDouble(), "new", unit);
+                continue;
+            }
+            double oldScore = before.path("score").asDouble();
+            double newScore = now.path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%n", entry.getKey(), oldScore, newScore, change, unit);
+        }
+    }
+
+    // keyed by benchmark name plus its @Param values
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("org.example.techmaastudentportal.benchmark.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
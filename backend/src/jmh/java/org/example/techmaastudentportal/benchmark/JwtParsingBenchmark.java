@@ -0,0 +1,67 @@
+package org.example.techmaastudentportal.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+// per-request token handling in JwtFilter: the old three-parse path against a single parse and the claims cache,
+// plus JwtUtil.generateToken and validateToken as called on login and per request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    static final String SECRET = "dGVjaG1hYS1iZW5jaG1hcmstc2lnbmluZy1rZXktMDEyMzQ1Njc4OQ==";
+
+    private SecretKey secretKey;
+    private JwtParser sharedParser;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        sharedParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(42L, "STUDENT");
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole blackhole) { // validateToken + extractSubject + extractUserRole
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token));
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody().getSubject());
+        blackhole.consume(Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody().get("role"));
+    }
+
+    @Benchmark
+    public Claims singleParseSharedParser() { // cache miss cost
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "STUDENT");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
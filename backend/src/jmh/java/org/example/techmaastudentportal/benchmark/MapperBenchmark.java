@@ -0,0 +1,55 @@
+package org.example.techmaastudentportal.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.techmaastudentportal.dto.StudentColumnarResponseDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.util.ObjectDTOMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ObjectDTOMapper list mapping as used by the student listing endpoints, and the row vs columnar JSON body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Student> students;
+    private List<StudentResponseDTO> rows;
+
+    @Setup
+    public void setUp() {
+        students = BenchmarkData.students(size);
+        rows = ObjectDTOMapper.toStudentResponseDtoList(students);
+    }
+
+    @Benchmark
+    public List<StudentResponseDTO> toStudentResponseDtoList() {
+        return ObjectDTOMapper.toStudentResponseDtoList(students);
+    }
+
+    @Benchmark
+    public StudentColumnarResponseDTO toStudentColumnarResponseDTO() {
+        return ObjectDTOMapper.toStudentColumnarResponseDTO(rows);
+    }
+
+    @Benchmark
+    public byte[] writeRowsJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] writeColumnarJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ObjectDTOMapper.toStudentColumnarResponseDTO(rows));
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.security.GcraRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// local cost of one RateLimitFilter check: a bucket lookup plus the GCRA compare-and-set
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int distinctKeys;
+
+    private GcraRateLimiter limiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new GcraRateLimiter(60, 20, 100_000);
+        keys = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            keys[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquire() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(distinctKeys)]);
+    }
+}
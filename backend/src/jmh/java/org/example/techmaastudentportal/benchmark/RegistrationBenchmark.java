@@ -0,0 +1,67 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// registrations/sec: the old saveAndFlush + format + save double write against a single insert with a derived roll number.
+// password hashing is left out so the numbers show the database work only.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private StudentRepository studentRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        studentRepository = context.getBean(StudentRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Student saveFlushSave() {
+        return transactionTemplate.execute(status -> {
+            Student student = newStudent();
+            student.setRollNo("PENDING"); // keep the derived value out of the way, as before
+            studentRepository.saveAndFlush(student);
+            student.setRollNo(String.format("STU%06d", student.getId()));
+            return studentRepository.save(student);
+        });
+    }
+
+    @Benchmark
+    public Student singleInsert() {
+        return transactionTemplate.execute(status -> studentRepository.save(newStudent()));
+    }
+
+    private static Student newStudent() {
+        long n = SEQUENCE.incrementAndGet();
+        Student student = new Student();
+        student.setName("Student " + n);
+        student.setEmail("student" + n + "@bench.local");
+        student.setPassword("{noop}secret");
+        student.setRole(UserRole.STUDENT);
+        return student;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.techmaastudentportal.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.search.KeywordCandidates;
+import org.example.techmaastudentportal.specification.StudentSpecification;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// criteria building cost of StudentSpecification.toPredicate for a filter that sets every field
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentSpecificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private StudentFilterReqDTO filter;
+    private Set<Long> keywordMatches;
+    private LocalDateTime since;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        filter = new StudentFilterReqDTO();
+        filter.setKeyword("pune");
+        filter.setEmail("student42@bench.local");
+        filter.setPhone("9000000042");
+        filter.setName("Student 42");
+        filter.setCourseName("Course 2");
+        filter.setDepartment("SCIENCE");
+        filter.setGender("MALE");
+        filter.setRollNo("STU000042");
+        filter.setMarks(40.0);
+        since = LocalDateTime.now().minusSeconds(30);
+        keywordMatches = LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toSet());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(new StudentSpecification(filter));
+    }
+
+    @Benchmark
+    public Predicate allFiltersWithKeywordIds() {
+        return toPredicate(new StudentSpecification(filter, new KeywordCandidates(keywordMatches, since)));
+    }
+
+    private Predicate toPredicate(StudentSpecification specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        return specification.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.techmaastudentportal.benchmark;
+
+import org.example.techmaastudentportal.util.FormatUtil;
+import org.example.techmaastudentportal.util.OtpUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// small helpers on the OTP and export paths
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    @Benchmark
+    public String generateRandomOTP() {
+        return OtpUtil.generateRandomOTP();
+    }
+
+    @Benchmark
+    public String formatDateTime() {
+        return FormatUtil.formatDateTime();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.techmaastudentportal.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// bytes allocated by the request thread while it handles each request, per path. work handed to other
+// threads (the async half of the streamed export, mail workers) is not included.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class AllocationTrackingFilter extends OncePerRequestFilter {
+    static final Map<String, LongAdder> BYTES = new ConcurrentHashMap<>();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long after = THREADS.getCurrentThreadAllocatedBytes();
+            if (before >= 0 && after >= before) { // -1 when the JVM can't measure this thread
+                BYTES.computeIfAbsent(request.getRequestURI(), k -> new LongAdder()).add(after - before);
+            }
+        }
+    }
+
+    static long allocatedBytes(String path) {
+        LongAdder bytes = BYTES.get(path);
+        return bytes == null ? 0 : bytes.sum();
+    }
+
+    static void reset() {
+        BYTES.clear();
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.techmaastudentportal.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// closed-loop HTTP load against a running backend: each client sends its next request as soon as
+// the previous one returns, so throughput at a given concurrency shows how many requests the server
+// can hold in flight. run it once against a platform-thread server and once with
+// spring.threads.virtual.enabled=true to compare.
+//
+//   ./mvnw -Ploadtest test -Dloadtest.args="--url=http://localhost:8080/student/profile --token=... --concurrency=500 --duration=30"
+public class LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI url = URI.create(options.getOrDefault("url", "http://localhost:8080/student/profile"));
+        String token = options.get("token");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        System.out.printf("%s, %d clients, %ds warmup, %ds measured%n", url, concurrency, warmup.toSeconds(), duration.toSeconds());
+        run(client, request.build(), concurrency, warmup);
+        Result result = run(client, request.build(), concurrency, duration);
+        result.print(duration);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            result.record(System.nanoTime() - start, status);
+                        } catch (java.io.IOException e) {
+                            result.errors++;
+                        }
+                    }
+                    return result;
+                }));
+            }
+        }
+        Result total = new Result();
+        for (Future<Result> future : clients) {
+            total.merge(future.get());
+        }
+        return total;
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    static class Result {
+        long[] latencies = new long[1024];
+        int count;
+        long ok;
+        long rejected; // 429
+        long failed;   // other 4xx/5xx
+        long errors;   // connection errors and timeouts
+
+        void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 429) {
+                rejected++;
+            } else if (status >= 400) {
+                failed++;
+            } else {
+                ok++;
+            }
+        }
+
+        void merge(Result other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            ok += other.ok;
+            rejected += other.rejected;
+            failed += other.failed;
+            errors += other.errors;
+        }
+
+        void print(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("requests %d (ok %d, 429 %d, failed %d, errors %d)%n", count, ok, rejected, failed, errors);
+            System.out.printf("throughput %.1f req/s%n", ok / (double) duration.toSeconds());
+            System.out.printf("latency ms p50 %.1f  p90 %.1f  p99 %.1f  max %.1f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        // one line of LoadTestSuite's per-endpoint table
+        void printRow(String endpoint, Duration duration, long allocatedBytes) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = duration.toSeconds();
+            System.out.printf("%-40s %8d %8d %10.1f %9.1f %9.1f %9.1f %9.1f KB %10.1f%n",
+                    endpoint, count, rejected + failed + errors, ok / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0),
+                    count == 0 ? 0.0 : allocatedBytes / 1024.0 / count, allocatedBytes / 1_048_576.0 / seconds);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
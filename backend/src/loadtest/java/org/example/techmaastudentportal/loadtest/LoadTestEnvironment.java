@@ -0,0 +1,182 @@
+package org.example.techmaastudentportal.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.persistence.EntityManager;
+import org.example.techmaastudentportal.TechmaaStudentPortalApplication;
+import org.example.techmaastudentportal.enums.Department;
+import org.example.techmaastudentportal.enums.Gender;
+import org.example.techmaastudentportal.enums.StaffRole;
+import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.models.Admin;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.Staff;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.AdminRepository;
+import org.example.techmaastudentportal.repository.CourseRepository;
+import org.example.techmaastudentportal.repository.StaffRepository;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.search.StudentSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+// the whole backend in one JVM: H2 in MySQL mode, an embedded redis server and a GreenMail SMTP sink
+final class LoadTestEnvironment implements AutoCloseable {
+    static final String PASSWORD = "LoadTest@123";
+    static final String ADMIN_EMAIL = "admin@load.local";
+    private static final String JWT_SECRET = "dGVjaG1hYS1sb2FkdGVzdC1zaWduaW5nLWtleS0wMTIzNDU2Nzg5YWJj";
+    private static final int SEED_CHUNK = 1000;
+
+    private final RedisServer redis;
+    private final GreenMail smtp;
+    private final ConfigurableApplicationContext context;
+    private final int port;
+
+    private LoadTestEnvironment(RedisServer redis, GreenMail smtp, ConfigurableApplicationContext context) {
+        this.redis = redis;
+        this.smtp = smtp;
+        this.context = context;
+        this.port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    static LoadTestEnvironment start(boolean virtualThreads) throws IOException {
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+        GreenMail smtp = new GreenMail(new ServerSetup(freePort(), "localhost", ServerSetup.PROTOCOL_SMTP));
+        smtp.start();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TechmaaStudentPortalApplication.class, AllocationTrackingFilter.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=32",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.data.redis.port=" + redisPort,
+                        "--spring.mail.host=localhost",
+                        "--spring.mail.port=" + smtp.getSmtp().getPort(),
+                        "--spring.mail.username=portal@load.local",
+                        "--spring.mail.password=",
+                        "--spring.mail.properties.mail.smtp.auth=false",
+                        "--spring.mail.properties.mail.smtp.starttls.enable=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--jwt.secret=" + JWT_SECRET,
+                        "--password.bcrypt.strength=10",
+                        "--rate-limit.ip.per-minute=10000000",
+                        "--rate-limit.ip.burst=100000",
+                        "--rate-limit.identity.per-minute=10000000",
+                        "--rate-limit.identity.burst=100000",
+                        "--search.student-index.path=" + Files.createTempDirectory("loadtest-index"),
+                        "--logging.level.root=WARN");
+        return new LoadTestEnvironment(redis, smtp, context);
+    }
+
+    // every account shares one bcrypt hash of PASSWORD so seeding does not pay for N hashes
+    void seed(int courseCount, int staffCount, int studentCount) {
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        EntityManager entityManager = context.getBean(EntityManager.class);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= courseCount; i++) {
+            Course course = new Course();
+            course.setTitle("Course " + i);
+            course.setDescription("Load test course " + i);
+            courses.add(course);
+        }
+        courses = context.getBean(CourseRepository.class).saveAll(courses);
+
+        Admin admin = new Admin();
+        admin.setEmail(ADMIN_EMAIL);
+        admin.setName("Load Admin");
+        admin.setPassword(hash);
+        admin.setRole(UserRole.ADMIN);
+        context.getBean(AdminRepository.class).save(admin);
+
+        List<Staff> staff = new ArrayList<>(staffCount);
+        for (int i = 1; i <= staffCount; i++) {
+            Staff member = new Staff();
+            member.setEmail("staff" + i + "@load.local");
+            member.setName("Staff " + i);
+            member.setPassword(hash);
+            member.setRole(UserRole.STAFF);
+            member.setStaffRole(StaffRole.TEACHING);
+            member.setCourse(courses.get(i % courses.size()));
+            member.setDepartment(Department.values()[i % Department.values().length]);
+            staff.add(member);
+        }
+        context.getBean(StaffRepository.class).saveAll(staff);
+
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        for (int from = 1; from <= studentCount; from += SEED_CHUNK) {
+            List<Student> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = from; i < from + SEED_CHUNK && i <= studentCount; i++) {
+                chunk.add(student(i, hash, courses.get(i % courses.size())));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                studentRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        try {
+            context.getBean(StudentSearchIndex.class).rebuild();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not index the seeded students", e);
+        }
+    }
+
+    static String studentEmail(int i) {
+        return "student" + i + "@load.local";
+    }
+
+    URI uri(String pathAndQuery) {
+        return URI.create("http://localhost:" + port + pathAndQuery);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        smtp.stop();
+        redis.stop();
+    }
+
+    private static Student student(int i, String hash, Course course) {
+        Student student = new Student();
+        student.setEmail(studentEmail(i));
+        student.setPhone(String.format("8%09d", i));
+        student.setName("Student " + i);
+        student.setPassword(hash);
+        student.setRole(UserRole.STUDENT);
+        student.setCourse(course);
+        student.setDepartment(Department.values()[i % Department.values().length]);
+        student.setGender(Gender.values()[i % Gender.values().length]);
+        student.setAddress(i + " Residency Road, Pune");
+        student.setAge(18 + i % 6);
+        student.setAcademicYear(1 + i % 4);
+        student.setSemester(1 + i % 8);
+        student.setMarks((double) (i % 100));
+        return student;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
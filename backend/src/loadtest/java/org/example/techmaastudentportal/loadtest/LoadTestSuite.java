@@ -0,0 +1,196 @@
+package org.example.techmaastudentportal.loadtest;
+
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// boots the backend against embedded infrastructure, seeds it and drives a weighted mix of the portal's
+// main endpoints, then reports latency percentiles, throughput and server-side allocation per endpoint.
+//
+//   ./mvnw -Ploadtest test -Dloadtest.main=org.example.techmaastudentportal.loadtest.LoadTestSuite \
+//       -Dloadtest.args="--students=10000 --concurrency=64 --duration=60 --mix=login:10,profile:50,filter:35,export:5"
+//
+// with --virtual-threads=true it also records virtual thread pinning longer than --pinned-threshold-ms (default 20)
+// and fails when more than --max-pinned (default 0) of those events had portal code on the stack
+public class LoadTestSuite {
+    private static final String LOGIN = "/auth/login/password";
+    private static final String PROFILE = "/student/profile";
+    private static final String FILTER = "/admin/students/filter";
+    private static final String EXPORT = "/admin/students/filter/export/excel";
+    private static final int TOKEN_POOL = 200;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadDriver.parse(args);
+        int students = Integer.parseInt(options.getOrDefault("students", "10000"));
+        int staff = Integer.parseInt(options.getOrDefault("staff", "200"));
+        int courses = Integer.parseInt(options.getOrDefault("courses", "20"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", "login:10,profile:50,filter:35,export:5"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtual-threads", "false"));
+        long maxPinned = Long.parseLong(options.getOrDefault("max-pinned", "0"));
+        Duration pinnedThreshold = Duration.ofMillis(Long.parseLong(options.getOrDefault("pinned-threshold-ms", "20")));
+
+        PinnedThreadMonitor pinning = virtualThreads ? new PinnedThreadMonitor(pinnedThreshold) : null;
+        try (LoadTestEnvironment environment = LoadTestEnvironment.start(virtualThreads)) {
+            long seedStart = System.nanoTime();
+            environment.seed(courses, staff, students);
+            System.out.printf("seeded %d students, %d staff, %d courses in %d ms%n",
+                    students, staff, courses, (System.nanoTime() - seedStart) / 1_000_000);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Scenario scenario = new Scenario(environment, client, students, mix);
+            scenario.prepareTokens();
+
+            System.out.printf("%d clients, %ds warmup, %ds measured, virtual threads %s, mix %s%n",
+                    concurrency, warmup.toSeconds(), duration.toSeconds(), virtualThreads, mix);
+            scenario.run(concurrency, warmup);
+            AllocationTrackingFilter.reset();
+            Map<String, LoadDriver.Result> results = scenario.run(concurrency, duration);
+
+            System.out.printf("%-40s %8s %8s %10s %9s %9s %9s %12s %10s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "alloc/req", "alloc MB/s");
+            results.forEach((endpoint, result) -> {
+                long bytes = AllocationTrackingFilter.allocatedBytes(endpoint);
+                result.printRow(endpoint, duration, bytes);
+            });
+        } finally {
+            if (pinning != null) {
+                pinning.close();
+            }
+        }
+        if (pinning != null) {
+            pinning.report();
+            if (pinning.inApplicationCode() > maxPinned) {
+                throw new IllegalStateException(pinning.inApplicationCode() + " virtual thread pinning events in portal code, at most " + maxPinned + " allowed");
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static class Scenario {
+        private final LoadTestEnvironment environment;
+        private final HttpClient client;
+        private final int students;
+        private final String[] operations;
+        private final List<String> studentTokens = new ArrayList<>();
+        private String adminToken;
+
+        Scenario(LoadTestEnvironment environment, HttpClient client, int students, Map<String, Integer> mix) {
+            this.environment = environment;
+            this.client = client;
+            this.students = students;
+            List<String> weighted = new ArrayList<>();
+            mix.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    weighted.add(operation);
+                }
+            });
+            this.operations = weighted.toArray(new String[0]);
+        }
+
+        void prepareTokens() throws Exception {
+            adminToken = login(LoadTestEnvironment.ADMIN_EMAIL);
+            for (int i = 0; i < Math.min(TOKEN_POOL, students); i++) {
+                studentTokens.add(login(LoadTestEnvironment.studentEmail(1 + i * Math.max(students / TOKEN_POOL, 1))));
+            }
+        }
+
+        Map<String, LoadDriver.Result> run(int concurrency, Duration duration) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            List<Future<Map<String, LoadDriver.Result>>> clients = new ArrayList<>(concurrency);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < concurrency; i++) {
+                    clients.add(executor.submit(() -> {
+                        Map<String, LoadDriver.Result> results = new LinkedHashMap<>();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            HttpRequest request = request(operations[random.nextInt(operations.length)], random);
+                            LoadDriver.Result result = results.computeIfAbsent(request.uri().getPath(), k -> new LoadDriver.Result());
+                            long start = System.nanoTime();
+                            try {
+                                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                                result.record(System.nanoTime() - start, status);
+                            } catch (java.io.IOException e) {
+                                result.errors++;
+                            }
+                        }
+                        return results;
+                    }));
+                }
+            }
+            Map<String, LoadDriver.Result> total = new LinkedHashMap<>();
+            for (Future<Map<String, LoadDriver.Result>> future : clients) {
+                future.get().forEach((endpoint, result) -> total.computeIfAbsent(endpoint, k -> new LoadDriver.Result()).merge(result));
+            }
+            return total;
+        }
+
+        private HttpRequest request(String operation, ThreadLocalRandom random) {
+            return switch (operation) {
+                case "login" -> loginRequest(LoadTestEnvironment.studentEmail(1 + random.nextInt(students)));
+                case "profile" -> get(PROFILE, studentTokens.get(random.nextInt(studentTokens.size())));
+                case "filter" -> get(FILTER + "?department=" + department(random) + "&academicYear=" + (1 + random.nextInt(4)), adminToken);
+                case "export" -> get(EXPORT + "?department=" + department(random), adminToken);
+                default -> throw new IllegalArgumentException("Unknown operation in mix: " + operation);
+            };
+        }
+
+        private String login(String email) throws Exception {
+            HttpResponse<Void> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode());
+            }
+            return response.headers().allValues("Set-Cookie").stream()
+                    .flatMap(header -> HttpCookie.parse(header).stream())
+                    .filter(cookie -> "ACCESS_TOKEN".equals(cookie.getName()))
+                    .map(HttpCookie::getValue)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No ACCESS_TOKEN cookie for " + email));
+        }
+
+        private HttpRequest loginRequest(String email) {
+            String body = "{\"email\":\"" + email + "\",\"password\":\"" + LoadTestEnvironment.PASSWORD + "\"}";
+            return HttpRequest.newBuilder(environment.uri(LOGIN))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        private HttpRequest get(String pathAndQuery, String token) {
+            URI uri = environment.uri(pathAndQuery);
+            return HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofMinutes(2))
+                    .GET()
+                    .build();
+        }
+
+        private static String department(ThreadLocalRandom random) {
+            String[] departments = {"SCIENCE", "COMMERCE", "ARTS", "ENGINEERING"};
+            return departments[random.nextInt(departments.length)];
+        }
+    }
+}
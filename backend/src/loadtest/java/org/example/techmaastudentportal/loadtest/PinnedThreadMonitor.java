@@ -0,0 +1,66 @@
+package org.example.techmaastudentportal.loadtest;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// counts jdk.VirtualThreadPinned JFR events (a virtual thread blocking while pinned to its carrier) by the
+// portal frame that was running, the in-process equivalent of reading -Djdk.tracePinnedThreads output
+final class PinnedThreadMonitor implements AutoCloseable {
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "org.example.techmaastudentportal.";
+
+    private final RecordingStream stream;
+    private final Map<String, LongAdder> pinnedAt = new ConcurrentHashMap<>();
+
+    PinnedThreadMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(PINNED).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED, event -> pinnedAt.computeIfAbsent(site(event.getStackTrace()), k -> new LongAdder()).increment());
+        stream.startAsync();
+    }
+
+    long total() {
+        return pinnedAt.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    // pinning with a portal frame on the stack, the part this codebase can fix (H2 and other libraries pin too)
+    long inApplicationCode() {
+        return pinnedAt.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(APPLICATION_PACKAGE))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    void report() {
+        System.out.printf("virtual thread pinning: %d events, %d in portal code%n", total(), inApplicationCode());
+        pinnedAt.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .forEach(entry -> System.out.printf("  %6d  %s%n", entry.getValue().sum(), entry.getKey()));
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    // the innermost portal frame, or the top frame when the pinning happened entirely in library code
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack trace>";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.techmaastudentportal.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// kept off the application class so test slices without a CacheManager (@DataJpaTest) still start
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
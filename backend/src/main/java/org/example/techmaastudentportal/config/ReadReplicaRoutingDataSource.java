@@ -0,0 +1,24 @@
+package org.example.techmaastudentportal.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// sends connections for @Transactional(readOnly = true) work to the replica and everything else to the primary.
+// must sit behind a LazyConnectionDataSourceProxy so the connection is taken after the read-only flag is set.
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target { PRIMARY, REPLICA }
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.techmaastudentportal.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.example.techmaastudentportal.models.User;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class UserIdSequenceInitializer { // moves users_seq past the ids handed out by the old IDENTITY column
+    private static final String SEQUENCE = "users_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceSupport sequenceSupport;
+
+    // the factory also makes this run after hibernate has created the sequence (or its emulation table)
+    public UserIdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+    }
+
+    @PostConstruct
+    void alignSequence() {
+        try {
+            // the pooled optimizer hands out (next_val - allocationSize, next_val], so stay a full block above max(id)
+            long floor = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class) + User.ID_ALLOCATION_SIZE + 1;
+            if (sequenceSupport.supportsSequences()) {
+                alignNativeSequence(floor); // MariaDB, H2
+            } else if (jdbcTemplate.update("UPDATE " + SEQUENCE + " SET next_val = ? WHERE next_val < ?", floor, floor) > 0) {
+                log.info("Moved {} table up to {}", SEQUENCE, floor); // MySQL emulates the sequence with a table
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not align {} with the ids in users, new users may collide with existing ids", SEQUENCE, e);
+        }
+    }
+
+    // reading the next value burns one block, which only leaves a gap in the ids
+    private void alignNativeSequence(long floor) {
+        Long next = jdbcTemplate.queryForObject(sequenceSupport.getSequenceNextValString(SEQUENCE), Long.class);
+        if (next != null && next < floor) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + floor);
+            log.info("Restarted sequence {} at {}", SEQUENCE, floor);
+        }
+    }
+}
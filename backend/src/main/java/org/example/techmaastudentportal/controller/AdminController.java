@@ -4,9 +4,14 @@ package org.example.techmaastudentportal.controller;
 import jakarta.validation.Valid;
 import org.example.techmaastudentportal.dto.*;
 import org.example.techmaastudentportal.service.AdminService;
+import org.example.techmaastudentportal.service.ProfileVersionCache;
 import org.example.techmaastudentportal.service.StaffService;
+import org.example.techmaastudentportal.service.StudentBulkService;
 import org.example.techmaastudentportal.service.StudentService;
+import org.example.techmaastudentportal.service.StudentStatsService;
 import org.example.techmaastudentportal.util.FormatUtil;
+import org.example.techmaastudentportal.util.ObjectDTOMapper;
+import org.example.techmaastudentportal.util.StudentImportParser;
 import org.example.techmaastudentportal.util.ValidationUtil;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.http.HttpHeaders;
@@ -15,8 +20,12 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping
@@ -24,11 +33,17 @@ public class AdminController {
     private final StudentService studentService;
     private final StaffService staffService;
     private final AdminService adminService;
+    private final StudentBulkService studentBulkService;
+    private final StudentStatsService studentStatsService;
+    private final ProfileVersionCache profileVersionCache;
 
-    public AdminController(StudentService studentService, StaffService staffService, AdminService adminService) {
+    public AdminController(StudentService studentService, StaffService staffService, AdminService adminService, StudentBulkService studentBulkService, StudentStatsService studentStatsService, ProfileVersionCache profileVersionCache) {
         this.studentService = studentService;
         this.staffService = staffService;
         this.adminService = adminService;
+        this.studentBulkService = studentBulkService;
+        this.studentStatsService = studentStatsService;
+        this.profileVersionCache = profileVersionCache;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -39,6 +54,20 @@ public class AdminController {
         return new ResponseEntity<>(responseDTO, HttpStatus.OK);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/register-students/bulk")
+    public ResponseEntity<BulkStudentRegistrationResponseDTO> registerStudents(@RequestBody List<StudentSignupReqDTO> students){
+        BulkStudentRegistrationResponseDTO responseDTO = studentBulkService.registerStudents(students);
+        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+    }
+
+    // csv or xlsx with a header row: name,email,phone,password,courseId,department,address,age,gender,academicYear,semester
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/admin/register-students/bulk/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<BulkStudentRegistrationResponseDTO> registerStudentsFromFile(@RequestParam("file") MultipartFile file){
+        BulkStudentRegistrationResponseDTO responseDTO = studentBulkService.registerStudents(StudentImportParser.parse(file));
+        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+    }
 
     @PostMapping("/auth/register-admin")
     public ResponseEntity<AdminSignupResponseDTO> registerAdmin(@Valid @RequestBody AdminSignupReqDTO signupAdmin){
@@ -57,9 +86,13 @@ public class AdminController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/profile")
-    public ResponseEntity<AdminProfileResponseDTO> getAdminProfile(){
+    public ResponseEntity<AdminProfileResponseDTO> getAdminProfile(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        Optional<String> unchanged = profileVersionCache.matchingETag(ifNoneMatch);
+        if(unchanged.isPresent()){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchanged.get()).cacheControl(ProfileVersionCache.CACHE_CONTROL).build();
+        }
         AdminProfileResponseDTO responseDTO = adminService.getProfile();
-        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(responseDTO.getEtag()).cacheControl(ProfileVersionCache.CACHE_CONTROL).body(responseDTO);
     }
 
 
@@ -85,6 +118,34 @@ public class AdminController {
         return ResponseEntity.ok(studentDTO);
     }
 
+    //same filter with Accept: application/vnd.techmaa.students.columnar+json, dictionary-encoded columns instead of row objects
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value="/admin/students/filter", produces = StudentColumnarResponseDTO.MEDIA_TYPE)
+    public ResponseEntity<StudentColumnarResponseDTO> getFilteredStudentsColumnar(@ParameterObject StudentFilterReqDTO studentFilterDTO){
+        List<StudentResponseDTO> studentDTO = adminService.getStudents(studentFilterDTO);
+        return ResponseEntity.ok(ObjectDTOMapper.toStudentColumnarResponseDTO(studentDTO));
+    }
+
+    //same filter as application/x-ndjson, one student per line streamed from a forward-only cursor for tools that need the whole set
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value="/admin/students/filter", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilteredStudents(@ParameterObject StudentFilterReqDTO studentFilterDTO){
+        StreamingResponseBody students = out -> adminService.writeStudentsAsNdjson(studentFilterDTO, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(students);
+    }
+
+    //keyset paginated variant of the filter, pass back nextCursor to fetch the following page
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value="/admin/students/filter/page")
+    public ResponseEntity<StudentPageResponseDTO> getFilteredStudentPage(@ParameterObject StudentFilterReqDTO studentFilterDTO,
+                                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                                         @RequestParam(value = "size", defaultValue = "50") int size){
+        StudentPageResponseDTO pageDTO = adminService.getStudentPage(studentFilterDTO, cursor, size);
+        return ResponseEntity.ok(pageDTO);
+    }
+
     //view student by ID/phone
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/student/{rollNo}")
@@ -93,12 +154,24 @@ public class AdminController {
         return new ResponseEntity<>(studentDTO,HttpStatus.OK);
     }
 
+    //dashboard counts of active students by department, gender, course and academic year
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/stats")
+    public ResponseEntity<StudentStatsResponseDTO> getStudentStats(){
+        return ResponseEntity.ok(studentStatsService.getStats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/stats/{dimension}")
+    public ResponseEntity<Map<String, Long>> getStudentStats(@PathVariable("dimension") String dimension){
+        return ResponseEntity.ok(studentStatsService.getStats(dimension));
+    }
+
     // export student data to excel
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/students/filter/export/excel")
-    public ResponseEntity<byte[]> exportStudentData(@ParameterObject StudentFilterReqDTO studentFilterDTO){
-        List<StudentResponseDTO> studentDTO = adminService.getStudents(studentFilterDTO);
-        byte[] excelData = adminService.exportStudentsToExcel(studentDTO);
+    public ResponseEntity<StreamingResponseBody> exportStudentData(@ParameterObject StudentFilterReqDTO studentFilterDTO){
+        StreamingResponseBody excelData = out -> adminService.writeStudentsToExcel(studentFilterDTO, out);
 
         String filename= "Students_"+ FormatUtil.formatDateTime() + ".xlsx";
         return ResponseEntity.ok()
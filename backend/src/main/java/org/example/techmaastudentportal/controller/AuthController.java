@@ -6,7 +6,6 @@ import org.example.techmaastudentportal.dto.*;
 import org.example.techmaastudentportal.security.JwtUtil;
 import org.example.techmaastudentportal.service.AuthService;
 import org.example.techmaastudentportal.service.LoginResult;
-import org.example.techmaastudentportal.util.ObjectDTOMapper;
 import org.example.techmaastudentportal.util.ValidationUtil;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -34,7 +33,7 @@ public class AuthController {
         ValidationUtil.checkContactCredential(loginUser);
         LoginResult result = authService.login(loginUser);
         ResponseCookie cookie= jwtUtil.generateTokenCookie(result.getToken());
-        UserLoginResponseDTO responseDTO= ObjectDTOMapper.toUserLoginResponseDTO(result.getUser());
+        UserLoginResponseDTO responseDTO= result.getUser();
 
       return ResponseEntity.status(HttpStatus.OK)
                 .header(HttpHeaders.SET_COOKIE, cookie.toString())
@@ -52,7 +51,7 @@ public class AuthController {
     public ResponseEntity<UserLoginResponseDTO> validateLoginEmailOTP(@Valid @RequestBody UserEmailOTPLoginValidationDTO reqDTO){
         LoginResult result= authService.validateLoginOtp(reqDTO);
         ResponseCookie cookie = jwtUtil.generateTokenCookie(result.getToken());
-        UserLoginResponseDTO responseDTO = ObjectDTOMapper.toUserLoginResponseDTO(result.getUser());
+        UserLoginResponseDTO responseDTO = result.getUser();
         return ResponseEntity.status(HttpStatus.OK)
                 .header(HttpHeaders.SET_COOKIE,cookie.toString())
         .body(responseDTO);
@@ -4,21 +4,27 @@ import org.example.techmaastudentportal.dto.StaffProfileResponseDTO;
 import org.example.techmaastudentportal.dto.StaffSignupReqDTO;
 import org.example.techmaastudentportal.dto.StaffSignupResponseDTO;
 import org.example.techmaastudentportal.security.JwtUtil;
+import org.example.techmaastudentportal.service.ProfileVersionCache;
 import org.example.techmaastudentportal.service.StaffService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping
 public class StaffController {
     private final StaffService staffService;
     private final JwtUtil jwtUtil;
+    private final ProfileVersionCache profileVersionCache;
 
-    public StaffController(StaffService staffService, JwtUtil jwtUtil) {
+    public StaffController(StaffService staffService, JwtUtil jwtUtil, ProfileVersionCache profileVersionCache) {
         this.staffService = staffService;
         this.jwtUtil = jwtUtil;
+        this.profileVersionCache = profileVersionCache;
     }
 
 
@@ -30,9 +36,13 @@ public class StaffController {
 
     @PreAuthorize("hasRole('STAFF')")
     @GetMapping("/staff/profile")
-    public ResponseEntity<StaffProfileResponseDTO> getStaffProfile(){
+    public ResponseEntity<StaffProfileResponseDTO> getStaffProfile(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        Optional<String> unchanged = profileVersionCache.matchingETag(ifNoneMatch);
+        if(unchanged.isPresent()){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchanged.get()).cacheControl(ProfileVersionCache.CACHE_CONTROL).build();
+        }
         StaffProfileResponseDTO responseDTO = staffService.getProfile();
-        return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(responseDTO.getEtag()).cacheControl(ProfileVersionCache.CACHE_CONTROL).body(responseDTO);
     }
 
     @DeleteMapping("/staff/delete")
@@ -6,20 +6,26 @@ import org.example.techmaastudentportal.dto.StudentProfileResponseDTO;
 import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
 import org.example.techmaastudentportal.dto.StudentSignupResponseDTO;
 import org.example.techmaastudentportal.dto.StudentUpdateReqDTO;
+import org.example.techmaastudentportal.service.ProfileVersionCache;
 import org.example.techmaastudentportal.service.StudentService;
 import org.example.techmaastudentportal.util.ValidationUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping
 public class StudentController {
     private StudentService studentService;
+    private final ProfileVersionCache profileVersionCache;
 
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, ProfileVersionCache profileVersionCache) {
         this.studentService = studentService;
+        this.profileVersionCache = profileVersionCache;
     }
 
     @PostMapping("/auth/register-student")
@@ -32,9 +38,13 @@ public class StudentController {
     //get student profile data
     @GetMapping("/student/profile")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<StudentProfileResponseDTO> getStudentProfile(){
+    public ResponseEntity<StudentProfileResponseDTO> getStudentProfile(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        Optional<String> unchanged = profileVersionCache.matchingETag(ifNoneMatch);
+        if(unchanged.isPresent()){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(unchanged.get()).cacheControl(ProfileVersionCache.CACHE_CONTROL).build();
+        }
         StudentProfileResponseDTO responseDTO = studentService.getProfile();
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok().eTag(responseDTO.getEtag()).cacheControl(ProfileVersionCache.CACHE_CONTROL).body(responseDTO);
     }
 
     @PatchMapping("/student/profile/update")
@@ -2,9 +2,11 @@ package org.example.techmaastudentportal.controlleradvice;
 
 
 import org.example.techmaastudentportal.dto.ResponseDTO;
+import org.example.techmaastudentportal.exception.BadRequestException;
 import org.example.techmaastudentportal.exception.EntityAlreadyExistException;
 import org.example.techmaastudentportal.exception.EntityNotFoundException;
 import org.example.techmaastudentportal.exception.InvalidCredentialsException;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -61,6 +63,19 @@ public class ControllerAdvice {
         return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ResponseDTO<Map<String, Object>>> handleBadRequestException(BadRequestException ex, WebRequest request) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("error", "BAD REQUEST");
+        errorDetails.put("details", ex.getMessage());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
+
+        ResponseDTO<Map<String, Object>> responseDTO = new ResponseDTO<>("Request Failed", errorDetails);
+        return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ResponseDTO<Map<String, Object>>> handleInvalidCredentialsException(InvalidCredentialsException ex, WebRequest request) {
         Map<String, Object> errorDetails = new HashMap<>();
@@ -88,6 +103,17 @@ public class ControllerAdvice {
         return new ResponseEntity<>(responseDTO, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ResponseDTO<Map<String, Object>>> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("error", "TOO MANY REQUESTS");
+        errorDetails.put("details", ex.getMessage());
+        errorDetails.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorDetails.put("path", ((ServletWebRequest) request).getRequest().getRequestURI());
 
+        ResponseDTO<Map<String, Object>> responseDTO = new ResponseDTO<>("Request Failed", errorDetails);
+        return new ResponseEntity<>(responseDTO, HttpStatus.TOO_MANY_REQUESTS);
+    }
 
 }
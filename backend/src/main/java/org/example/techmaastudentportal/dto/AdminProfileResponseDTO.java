@@ -1,11 +1,14 @@
 package org.example.techmaastudentportal.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.example.techmaastudentportal.enums.Gender;
 
 @Data
 public class AdminProfileResponseDTO {
+    @JsonIgnore
+    private String etag; // from the versions of the rows this profile was built from, sent as the ETag header
     private String email;
     private String adminId;
     private String name;
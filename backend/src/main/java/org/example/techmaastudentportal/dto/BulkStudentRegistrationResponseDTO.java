@@ -0,0 +1,13 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStudentRegistrationResponseDTO {
+    private int total;
+    private int created;
+    private int failed;
+    private List<BulkStudentRowResultDTO> results;
+}
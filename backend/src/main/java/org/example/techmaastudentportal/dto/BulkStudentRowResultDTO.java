@@ -0,0 +1,13 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkStudentRowResultDTO {
+    private int row;
+    private String status; // CREATED or FAILED
+    private String email;
+    private String phone;
+    private String rollNo;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// immutable copy of a course row for the course cache, unlike the entity it is safe to share between threads and sessions
+@Getter
+@AllArgsConstructor
+public class CourseSummary {
+    private final Long id;
+    private final String title;
+    private final long version;
+    private final boolean deleted;
+}
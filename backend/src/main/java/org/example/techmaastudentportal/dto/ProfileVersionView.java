@@ -0,0 +1,7 @@
+package org.example.techmaastudentportal.dto;
+
+// version columns behind a profile ETag, courseVersion is null for users without a course
+public interface ProfileVersionView {
+    Long getUserVersion();
+    Long getCourseVersion();
+}
@@ -0,0 +1,29 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// column-per-field variant of a List<StudentResponseDTO>: row i is the i-th entry of every column.
+// department, gender, role and courseTitle hold indexes into dictionaries, null where the value is absent
+@Data
+public class StudentColumnarResponseDTO {
+    public static final String MEDIA_TYPE = "application/vnd.techmaa.students.columnar+json";
+
+    private int count;
+    private Map<String, List<String>> dictionaries;
+    private List<String> email;
+    private List<String> phone;
+    private List<String> name;
+    private List<Integer> role;
+    private List<String> rollNo;
+    private List<Integer> courseTitle;
+    private List<Integer> department;
+    private List<String> address;
+    private List<Integer> age;
+    private List<Integer> gender;
+    private List<Integer> academicYear;
+    private List<Integer> semester;
+    private List<Double> marks;
+}
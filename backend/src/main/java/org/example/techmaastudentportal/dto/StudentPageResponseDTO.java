@@ -0,0 +1,12 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class StudentPageResponseDTO {
+    private List<StudentResponseDTO> students;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -1,6 +1,7 @@
 package org.example.techmaastudentportal.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.example.techmaastudentportal.enums.Department;
 import org.example.techmaastudentportal.enums.Gender;
@@ -8,6 +9,8 @@ import org.example.techmaastudentportal.enums.UserRole;
 
 @Data
 public class StudentProfileResponseDTO {
+    @JsonIgnore
+    private String etag; // from the versions of the rows this profile was built from, sent as the ETag header
     private UserRole role;
     private String email;
     private String phone;
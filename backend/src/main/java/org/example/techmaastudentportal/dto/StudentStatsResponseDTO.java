@@ -0,0 +1,14 @@
+package org.example.techmaastudentportal.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class StudentStatsResponseDTO {
+    private long total;
+    private Map<String, Long> byDepartment;
+    private Map<String, Long> byGender;
+    private Map<String, Long> byCourse;
+    private Map<String, Long> byAcademicYear;
+}
@@ -0,0 +1,13 @@
+package org.example.techmaastudentportal.dto;
+
+import org.example.techmaastudentportal.enums.UserRole;
+
+// closed projection for the login queries: the credential columns plus what the login response shows
+public interface UserLoginView {
+    Long getId();
+    UserRole getRole();
+    String getPassword();
+    String getEmail();
+    String getPhone();
+    String getName();
+}
@@ -0,0 +1,27 @@
+package org.example.techmaastudentportal.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+
+// published by the services whenever a student row is created, updated or soft deleted.
+// before is null for a signup, after is null for a delete.
+@Getter
+@AllArgsConstructor
+public class StudentChangedEvent {
+    private final Long studentId;
+    private final StudentResponseDTO before;
+    private final StudentResponseDTO after;
+
+    public static StudentChangedEvent created(Long studentId, StudentResponseDTO after) {
+        return new StudentChangedEvent(studentId, null, after);
+    }
+
+    public static StudentChangedEvent updated(Long studentId, StudentResponseDTO before, StudentResponseDTO after) {
+        return new StudentChangedEvent(studentId, before, after);
+    }
+
+    public static StudentChangedEvent deleted(Long studentId, StudentResponseDTO before) {
+        return new StudentChangedEvent(studentId, before, null);
+    }
+}
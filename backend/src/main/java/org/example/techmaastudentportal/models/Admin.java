@@ -9,6 +9,7 @@ import org.example.techmaastudentportal.enums.Gender;
 @DiscriminatorValue("Admin")
 @Data
 public class Admin extends User{
+    @DerivedIdentifier(prefix = "AD")
     private String adminId;
     @Enumerated(EnumType.STRING)
     private Gender gender;
@@ -3,6 +3,8 @@ package org.example.techmaastudentportal.models;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.example.techmaastudentportal.service.ProfileVersionListener;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,16 +13,18 @@ import java.time.LocalDateTime;
 
 @Data
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, ProfileVersionListener.class})
 public class BaseModel {
 
-    @Id
-    @GeneratedValue(strategy= GenerationType.IDENTITY)
-    private Long id;
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
     @LastModifiedDate
     private LocalDateTime updatedAt;
+    // bumped on every update together with updatedAt, optimistic lock and profile ETag
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
     private boolean isDeleted=false;
 }
@@ -1,20 +1,35 @@
 package org.example.techmaastudentportal.models;
 
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.OneToMany;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_course_title_lower", columnList = "title_lower")) // StudentSpecification's course name filter
 @Data
 public class Course extends BaseModel{
+    @Id
+    @GeneratedValue(strategy= GenerationType.IDENTITY)
+    private Long id;
     private String title;
+    // computed by the database, see User.emailLower
+    @Setter(AccessLevel.NONE)
+    @Column(name = "title_lower", insertable = false, updatable = false, columnDefinition = "varchar(255) generated always as (lower(title))")
+    private String titleLower;
     private String description;
+    // excluded so a cached (detached) course never touches its lazy collections
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
     private List<Staff> staffMembers;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "course", fetch = FetchType.LAZY)
     private List<Student> students;
 }
@@ -0,0 +1,16 @@
+package org.example.techmaastudentportal.models;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// human readable id such as STU000042, filled in from the user's id as part of the insert
+@ValueGenerationType(generatedBy = DerivedIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface DerivedIdentifier {
+    String prefix();
+}
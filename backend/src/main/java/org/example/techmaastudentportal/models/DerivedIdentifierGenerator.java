@@ -0,0 +1,31 @@
+package org.example.techmaastudentportal.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+// runs after the sequence has assigned the id but before the INSERT is built, so no follow-up UPDATE is needed
+public class DerivedIdentifierGenerator implements BeforeExecutionGenerator {
+
+    private final String prefix;
+
+    public DerivedIdentifierGenerator(DerivedIdentifier config) {
+        this.prefix = config.prefix();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (currentValue != null) {
+            return currentValue;
+        }
+        return String.format("%s%06d", prefix, ((User) owner).getId());
+    }
+}
@@ -10,6 +10,7 @@ import org.example.techmaastudentportal.enums.StaffRole;
 @DiscriminatorValue("Staff")
 @Data
 public class Staff extends User{
+    @DerivedIdentifier(prefix = "STAFF")
     private String staffId;
     @Enumerated(EnumType.STRING)
     private Department department;
@@ -10,6 +10,7 @@ import org.example.techmaastudentportal.enums.Gender;
 @DiscriminatorValue("Student")
 @Data
 public class Student extends User {
+ @DerivedIdentifier(prefix = "STU")
  private String rollNo;
  @ManyToOne
  private Course course;
@@ -1,20 +1,50 @@
 package org.example.techmaastudentportal.models;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
 import org.example.techmaastudentportal.enums.UserRole;
 
 @Entity
-@Table(name = "users")
+// composite indexes for the repository lookups and StudentSpecification filters, every student query
+// starts with user_type and is_deleted so those lead. email and phone are covered by their unique keys.
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_type_deleted_roll_no", columnList = "user_type, is_deleted, roll_no"),
+        @Index(name = "idx_users_type_deleted_created", columnList = "user_type, is_deleted, created_at, id"),
+        @Index(name = "idx_users_type_deleted_dept_gender", columnList = "user_type, is_deleted, department, gender"),
+        @Index(name = "idx_users_type_deleted_course", columnList = "user_type, is_deleted, course_id"),
+        @Index(name = "idx_users_type_deleted_marks", columnList = "user_type, is_deleted, marks"),
+        @Index(name = "idx_users_type_deleted_name", columnList = "user_type, is_deleted, name"),
+        @Index(name = "idx_users_type_deleted_name_lower", columnList = "user_type, is_deleted, name_lower"),
+        @Index(name = "idx_users_email_lower", columnList = "email_lower"),
+        // StudentSearchIndex polls rows changed since its watermark, deleted ones included
+        @Index(name = "idx_users_type_updated", columnList = "user_type, updated_at")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type")
 @Data
 public class User extends BaseModel {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // pooled sequence: ids are known before the insert and one round trip hands out 50 of them
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
     @Column(unique = true)
     private String email;
     @Column(unique = true)
     private String phone;
     private String name;
+    // lower-case copies computed by the database for StudentSpecification's case-insensitive filters, so they
+    // match any case and use an index whatever the collation of email and name
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_lower", insertable = false, updatable = false, columnDefinition = "varchar(255) generated always as (lower(email))")
+    private String emailLower;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_lower", insertable = false, updatable = false, columnDefinition = "varchar(255) generated always as (lower(name))")
+    private String nameLower;
     private String password;
     @Enumerated(EnumType.STRING)
     private UserRole role;
@@ -0,0 +1,66 @@
+package org.example.techmaastudentportal.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// counts the SQL statements of each request (SqlStatementCounter) into hibernate.statements.per.request{uri}
+// and warns about requests over budget or repeating one statement, the N+1 pattern that grows with the rows returned.
+// work handed to another thread (streamed excel export) is not counted
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // ahead of spring security, so lookups made while authenticating are counted
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final int maxRepeats;
+
+    public SqlStatementBudgetFilter(MeterRegistry meterRegistry,
+                                    @Value("${sql.statement-budget.per-request:20}") int budget,
+                                    @Value("${sql.statement-budget.max-repeats:5}") int maxRepeats) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.maxRepeats = maxRepeats;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Scope statements = SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements.close();
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN"; // raw paths would explode the tag cardinality
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .description("SQL statements prepared while serving one request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.count());
+
+        if (statements.maxRepeats() > maxRepeats) {
+            log.warn("{} {} ran one statement {} times, likely N+1: {}", request.getMethod(), uri,
+                    statements.maxRepeats(), statements.mostRepeatedStatement());
+        } else if (statements.count() > budget) {
+            log.warn("{} {} ran {} SQL statements, budget is {}", request.getMethod(), uri, statements.count(), budget);
+        }
+    }
+}
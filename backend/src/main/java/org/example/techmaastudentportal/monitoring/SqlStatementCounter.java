@@ -0,0 +1,100 @@
+package org.example.techmaastudentportal.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// registered as hibernate.session_factory.statement_inspector, counts every statement prepared on this thread
+// into the innermost open Scope and all its parents. Hibernate instantiates it, so the state is a static ThreadLocal
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    // opens a scope on the calling thread, close it in the same thread (try-with-resources)
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // statements seen by a block of work; usable from tests to pin a query budget:
+    //   try (SqlStatementCounter.Scope sql = SqlStatementCounter.start()) { ... } sql.assertAtMost(2);
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, Integer> executions = new LinkedHashMap<>();
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            count++;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        // how often the most repeated statement ran, N+1 shows up as one select per row
+        public int maxRepeats() {
+            int max = 0;
+            for (int repeats : executions.values()) {
+                max = Math.max(max, repeats);
+            }
+            return max;
+        }
+
+        public Set<String> statements() {
+            return executions.keySet();
+        }
+
+        public String mostRepeatedStatement() {
+            String statement = null;
+            int max = 0;
+            for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+                if (entry.getValue() > max) {
+                    max = entry.getValue();
+                    statement = entry.getKey();
+                }
+            }
+            return statement;
+        }
+
+        public Scope assertAtMost(int budget) {
+            if (count > budget) {
+                throw new AssertionError("Expected at most " + budget + " SQL statements but " + count + " ran:\n"
+                        + String.join("\n", executions.keySet()));
+            }
+            return this;
+        }
+
+        public Scope assertNoRepeats(int maxRepeats) {
+            int repeats = maxRepeats();
+            if (repeats > maxRepeats) {
+                throw new AssertionError("Statement ran " + repeats + " times, likely N+1: " + mostRepeatedStatement());
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -1,12 +1,71 @@
 package org.example.techmaastudentportal.repository;
 
+import org.example.techmaastudentportal.dto.CourseSummary;
 import org.example.techmaastudentportal.models.Course;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
+// courses are read on every signup and profile update but almost never written, so id lookups are served from
+// the caffeine cache configured under spring.cache. it holds CourseSummary snapshots, never entities, and every
+// write method drops it
 public interface CourseRepository extends JpaRepository<Course,Long> {
+    String COURSES_CACHE = "courses";
 
-    Optional<Course> findByIdAndIsDeletedFalse(Long courseId);
+    @Cacheable(cacheNames = COURSES_CACHE, unless = "#result == null")
+    @Query("select new org.example.techmaastudentportal.dto.CourseSummary(c.id, c.title, c.version, c.isDeleted) from Course c where c.id = :courseId")
+    Optional<CourseSummary> findSummaryById(@Param("courseId") Long courseId);
 
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    <S extends Course> S save(S course);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    <S extends Course> S saveAndFlush(S course);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    <S extends Course> List<S> saveAll(Iterable<S> courses);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    <S extends Course> List<S> saveAllAndFlush(Iterable<S> courses);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void delete(Course course);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteById(Long courseId);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> courseIds);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAll(Iterable<? extends Course> courses);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAllInBatch(Iterable<Course> courses);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> courseIds);
+
+    @Override
+    @CacheEvict(cacheNames = COURSES_CACHE, allEntries = true)
+    void deleteAllInBatch();
 }
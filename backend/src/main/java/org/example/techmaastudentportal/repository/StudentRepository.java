@@ -5,11 +5,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student,Long>, JpaSpecificationExecutor<Student> {
+public interface StudentRepository extends JpaRepository<Student,Long>, JpaSpecificationExecutor<Student>, StudentRepositoryCustom {
 
     List<Student> findAll(Specification s, Sort sort);
 
@@ -20,4 +21,16 @@ public interface StudentRepository extends JpaRepository<Student,Long>, JpaSpeci
 
     Optional<Student> findByIdAndIsDeletedFalse(Long userId);
 
+    long countByIsDeletedFalse();
+
+    // one GROUP BY per dashboard dimension (StudentStatsService)
+    @Query("select s.department, count(s) from Student s where s.isDeleted = false group by s.department")
+    List<Object[]> countActiveByDepartment();
+    @Query("select s.gender, count(s) from Student s where s.isDeleted = false group by s.gender")
+    List<Object[]> countActiveByGender();
+    @Query("select c.title, count(s) from Student s left join s.course c where s.isDeleted = false group by c.title")
+    List<Object[]> countActiveByCourse();
+    @Query("select s.academicYear, count(s) from Student s where s.isDeleted = false group by s.academicYear")
+    List<Object[]> countActiveByAcademicYear();
+
 }
@@ -0,0 +1,26 @@
+package org.example.techmaastudentportal.repository;
+
+import jakarta.persistence.Tuple;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.models.Student;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface StudentRepositoryCustom {
+
+    // forward-only cursor over the matching students, must be consumed inside a transaction and closed
+    Stream<Student> streamAll(Specification<Student> specification, Sort sort);
+
+    // listing rows built from one select with a single course join, no managed entities
+    List<StudentResponseDTO> findAllResponses(Specification<Student> specification, Sort sort);
+
+    // one keyset page of listing rows (map them with ObjectDTOMapper), each tuple also carries "id" and the
+    // sortBy column under its own name for the next cursor
+    List<Tuple> findPageResponses(Specification<Student> specification, Sort sort, String sortBy, int limit);
+
+    // cursor variant of findAllResponses for exports, same transaction and close rules as streamAll
+    Stream<StudentResponseDTO> streamAllResponses(Specification<Student> specification, Sort sort);
+}
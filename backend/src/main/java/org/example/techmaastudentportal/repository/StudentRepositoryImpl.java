@@ -0,0 +1,104 @@
+package org.example.techmaastudentportal.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.util.ObjectDTOMapper;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+    private static final int FETCH_SIZE = 500;
+    // StudentResponseDTO properties read straight from the users row, the course title comes from the join
+    private static final List<String> RESPONSE_COLUMNS = List.of(
+            "email", "phone", "name", "role", "rollNo", "department", "address",
+            "age", "gender", "academicYear", "semester", "marks"
+    );
+
+    private final EntityManager entityManager;
+
+    public StudentRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<Student> streamAll(Specification<Student> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> root = query.from(Student.class);
+        root.fetch("course", JoinType.LEFT); // avoid a course select per row
+        query.select(root)
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach); // keep the persistence context from growing with the export
+    }
+
+    @Override
+    public List<StudentResponseDTO> findAllResponses(Specification<Student> specification, Sort sort) {
+        return responseQuery(specification, sort).getResultList().stream()
+                .map(ObjectDTOMapper::toStudentResponseDTO)
+                .toList();
+    }
+
+    @Override
+    public List<Tuple> findPageResponses(Specification<Student> specification, Sort sort, String sortBy, int limit) {
+        return responseQuery(specification, sort, sortBy)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<StudentResponseDTO> streamAllResponses(Specification<Student> specification, Sort sort) {
+        return responseQuery(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream()
+                .map(ObjectDTOMapper::toStudentResponseDTO);
+    }
+
+    // tuples are plain values, nothing enters the persistence context and the password hash is never read
+    private TypedQuery<Tuple> responseQuery(Specification<Student> specification, Sort sort) {
+        return responseQuery(specification, sort, null);
+    }
+
+    private TypedQuery<Tuple> responseQuery(Specification<Student> specification, Sort sort, String keysetColumn) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> root = query.from(Student.class);
+        Join<Student, Course> course = root.join("course", JoinType.LEFT);
+
+        List<Selection<?>> selections = new ArrayList<>(RESPONSE_COLUMNS.size() + 3);
+        for (String column : RESPONSE_COLUMNS) {
+            selections.add(root.get(column).alias(column));
+        }
+        selections.add(course.get("title").alias("courseTitle"));
+        for (String column : keysetColumn != null ? List.of("id", keysetColumn) : List.<String>of()) {
+            if (!RESPONSE_COLUMNS.contains(column) && selections.stream().noneMatch(s -> column.equals(s.getAlias()))) {
+                selections.add(root.get(column).alias(column)); // cursor position, under the column's own name
+            }
+        }
+        query.select(cb.tuple(selections.toArray(Selection<?>[]::new)))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
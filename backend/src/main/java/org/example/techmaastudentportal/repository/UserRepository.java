@@ -1,8 +1,16 @@
 package org.example.techmaastudentportal.repository;
 
+import org.example.techmaastudentportal.dto.ProfileVersionView;
+import org.example.techmaastudentportal.dto.UserLoginView;
 import org.example.techmaastudentportal.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User,Long> {
@@ -15,4 +23,25 @@ public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByPhoneAndIsDeletedFalse(String phone);
     Optional<User> findByIdAndIsDeletedFalse(Long userId);
 
+    // one unique-key lookup that selects only the UserLoginView columns
+    Optional<UserLoginView> findLoginViewByEmailAndIsDeletedFalse(String email);
+    Optional<UserLoginView> findLoginViewByPhoneAndIsDeletedFalse(String phone);
+
+    // version stamps of the user row and its course only, answers profile ETag checks without loading either
+    @Query(value = "select u.version as userVersion, c.version as courseVersion from users u left join course c on c.id = u.course_id " +
+            "where u.id = :id and u.is_deleted = false", nativeQuery = true)
+    Optional<ProfileVersionView> findProfileVersionById(@Param("id") Long id);
+
+    // compare-and-set so a password changed meanwhile is never overwritten by a rehash
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :newHash, u.version = u.version + 1 where u.id = :id and u.password = :oldHash")
+    int rehashPassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    // set-based uniqueness checks for bulk registration, deleted users still hold their unique keys
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    @Query("select u.phone from User u where u.phone in :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
 }
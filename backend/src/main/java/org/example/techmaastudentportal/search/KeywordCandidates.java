@@ -0,0 +1,17 @@
+package org.example.techmaastudentportal.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// what StudentSearchIndex knows about a keyword: ids whose indexed name/address contain it, valid for rows
+// last changed before changedSince. rows changed since then (possibly on another node) may not be indexed yet,
+// so the query has to consider them too. the LIKE predicate stays the authority either way
+@Getter
+@AllArgsConstructor
+public class KeywordCandidates {
+    private final Set<Long> ids;
+    private final LocalDateTime changedSince;
+}
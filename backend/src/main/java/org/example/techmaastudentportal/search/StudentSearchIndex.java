@@ -0,0 +1,312 @@
+package org.example.techmaastudentportal.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// trigram inverted index over student name and address, so keyword searches start from a candidate id set
+// instead of a LIKE '%kw%' scan. this node's changes arrive as StudentChangedEvent after each commit, changes made
+// by other nodes are picked up by polling updated_at. the index is local to the node and only a pre-filter:
+// rows changed after the last poll are always handed to the query as well (KeywordCandidates)
+@Slf4j
+@Component
+public class StudentSearchIndex {
+    public static final int GRAM = 3;
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String ADDRESS = "address";
+    private static final String SYNCED_UP_TO = "syncedUpTo"; // commit user data, survives restarts with the index
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxCandidates;
+    private final Duration syncOverlap;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService committer;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean ready = false;
+    // every row changed before this instant (minus syncOverlap for clock skew between nodes) is in the index
+    private volatile LocalDateTime syncedUpTo;
+
+    public StudentSearchIndex(StudentRepository studentRepository, PlatformTransactionManager transactionManager,
+                              @Value("${search.student-index.path:${java.io.tmpdir}/techmaa/student-index}") String path,
+                              @Value("${search.student-index.max-candidates:5000}") int maxCandidates,
+                              @Value("${search.student-index.commit-interval-ms:30000}") long commitIntervalMs,
+                              @Value("${search.student-index.sync-interval-ms:5000}") long syncIntervalMs,
+                              @Value("${search.student-index.sync-overlap:PT30S}") Duration syncOverlap) throws IOException {
+        this.studentRepository = studentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxCandidates = maxCandidates;
+        this.syncOverlap = syncOverlap;
+        IndexWriterConfig config = new IndexWriterConfig(trigramAnalyzer()).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        IndexWriter openedWriter;
+        Directory openedDirectory = FSDirectory.open(Path.of(path));
+        try {
+            openedWriter = new IndexWriter(openedDirectory, config);
+        } catch (LockObtainFailedException e) {
+            // another instance on this host owns the on-disk index, keep a private in-memory one instead
+            log.warn("Student search index at {} is locked by another process, using an in-memory index", path);
+            openedDirectory.close();
+            openedDirectory = new ByteBuffersDirectory();
+            openedWriter = new IndexWriter(openedDirectory, new IndexWriterConfig(trigramAnalyzer()));
+        }
+        this.directory = openedDirectory;
+        this.writer = openedWriter;
+        this.syncedUpTo = storedSyncedUpTo(writer);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "student-index-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // changes are searchable right away through the NRT reader, fsync happens in the background
+        committer.scheduleWithFixedDelay(this::commitIfDirty, commitIntervalMs, commitIntervalMs, TimeUnit.MILLISECONDS);
+        committer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // the index survives restarts: catch up from the stored watermark, rebuild only when that is missing or the index has drifted
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() throws IOException {
+        if (syncedUpTo == null) {
+            log.info("Student search index has no sync watermark, rebuilding");
+            rebuild();
+        } else {
+            syncChanges();
+            long students = studentRepository.countByIsDeletedFalse();
+            if (writer.getDocStats().numDocs != students) {
+                log.info("Student search index has {} docs for {} students, rebuilding", writer.getDocStats().numDocs, students);
+                rebuild();
+            }
+        }
+        ready = true;
+    }
+
+    public synchronized void rebuild() throws IOException {
+        LocalDateTime scanStart = LocalDateTime.now();
+        writer.deleteAll();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Student> students = studentRepository.streamAll(
+                    (root, query, cb) -> cb.equal(root.get("isDeleted"), false), Sort.unsorted())) {
+                students.forEach(student -> index(student.getId(), student.getName(), student.getAddress()));
+            }
+        });
+        syncedUpTo = scanStart;
+        commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    // re-reads every student row changed since the watermark, including soft deletes and rows written by other nodes
+    public synchronized void syncChanges() throws IOException {
+        if (syncedUpTo == null) {
+            return; // nothing to catch up from until the first rebuild
+        }
+        LocalDateTime scanStart = LocalDateTime.now();
+        LocalDateTime since = syncedUpTo.minus(syncOverlap);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Student> students = studentRepository.streamAll(
+                    (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedAt"), since), Sort.unsorted())) {
+                students.forEach(student -> {
+                    if (student.isDeleted()) {
+                        delete(student.getId());
+                    } else {
+                        index(student.getId(), student.getName(), student.getAddress());
+                    }
+                });
+            }
+        });
+        syncedUpTo = scanStart;
+        dirty.set(true);
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getAfter() == null) {
+            delete(event.getStudentId());
+        } else {
+            index(event.getStudentId(), event.getAfter().getName(), event.getAfter().getAddress());
+        }
+        dirty.set(true);
+    }
+
+    // the one normalisation used by both the index query and StudentSpecification's LIKE pattern
+    public static String normalize(String keyword) {
+        return keyword.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // candidate students whose name or address contains the keyword, or null when the index can't narrow
+    // the search (keyword shorter than a trigram, index still building, or too many candidates)
+    public KeywordCandidates search(String keyword) {
+        String normalized = normalize(keyword);
+        LocalDateTime watermark = syncedUpTo;
+        if (!ready || watermark == null || normalized.length() < GRAM) {
+            return null;
+        }
+        Query query = new ConstantScoreQuery(new BooleanQuery.Builder()
+                .add(allTrigrams(NAME, normalized), BooleanClause.Occur.SHOULD)
+                .add(allTrigrams(ADDRESS, normalized), BooleanClause.Occur.SHOULD)
+                .build());
+        try {
+            searcherManager.maybeRefreshBlocking();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs hits = searcher.search(query, maxCandidates + 1);
+                if (hits.scoreDocs.length > maxCandidates) {
+                    return null;
+                }
+                Set<Long> ids = new HashSet<>(hits.scoreDocs.length * 2);
+                for (ScoreDoc hit : hits.scoreDocs) {
+                    ids.add(searcher.storedFields().document(hit.doc).getField(ID).numericValue().longValue());
+                }
+                return new KeywordCandidates(ids, watermark.minus(syncOverlap));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            log.warn("Student search index query failed, falling back to a table scan", e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        committer.shutdownNow();
+        commit(); // with the current watermark
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void delete(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void index(Long id, String name, String address) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.NO));
+        document.add(new StoredField(ID, id));
+        document.add(new TextField(NAME, name == null ? "" : name, Field.Store.NO));
+        document.add(new TextField(ADDRESS, address == null ? "" : address, Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // a substring match needs every trigram of the keyword, the LIKE predicate still runs on the
+    // candidates so trigram false positives are dropped by the database
+    private Query allTrigrams(String field, String keyword) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (int i = 0; i + GRAM <= keyword.length(); i++) {
+            builder.add(new TermQuery(new Term(field, keyword.substring(i, i + GRAM))), BooleanClause.Occur.FILTER);
+        }
+        return builder.build();
+    }
+
+    private void commitIfDirty() {
+        if (dirty.getAndSet(false)) {
+            try {
+                commit();
+            } catch (IOException e) {
+                dirty.set(true);
+                log.warn("Student search index commit failed", e);
+            }
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            syncChanges();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Student search index sync failed", e);
+        }
+    }
+
+    private void commit() throws IOException {
+        LocalDateTime watermark = syncedUpTo;
+        if (watermark != null) {
+            writer.setLiveCommitData(Map.of(SYNCED_UP_TO, watermark.toString()).entrySet());
+        }
+        writer.commit();
+    }
+
+    private static LocalDateTime storedSyncedUpTo(IndexWriter writer) {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (SYNCED_UP_TO.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Analyzer trigramAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new NGramTokenizer(GRAM, GRAM);
+                return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+            }
+        };
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.techmaastudentportal.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// runs bcrypt on its own fixed pool so a login storm queues here instead of pinning every request thread.
+// a full queue or a wait past the timeout is answered with 429.
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    public static final int MIN_STRENGTH = 10;
+    public static final int MAX_STRENGTH = 14;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMs = timeoutMs;
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("security.password.queue.depth", queue, BlockingQueue::size);
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = meterRegistry.counter("security.password.rejected");
+        log.info("BCrypt strength {} on {} threads, queue capacity {}", strength, threads, queueCapacity);
+    }
+
+    // the strength whose hash takes at least targetMs on this machine, every step doubles the cost.
+    // a sizing aid for choosing password.bcrypt.strength, never applied at runtime: per-node results would differ
+    public static int calibrateStrength(long targetMs) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("calibration"); // warm up
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000.0, 1.0);
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && elapsedMs < targetMs) {
+            strength++;
+            elapsedMs *= 2;
+        }
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // hashes a batch (bulk registration) on the pool, in order. at most half the pool works on one batch so logins
+    // keep getting through, and a hash the full queue rejects runs on the caller: the batch slows down instead of failing
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = Math.max(executor.getMaximumPoolSize() / 2, 1);
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        for (CharSequence rawPassword : rawPasswords) {
+            if (inFlight.size() == window) {
+                hashes.add(await(inFlight.poll()));
+            }
+            inFlight.add(submitOrRunHere(rawPassword));
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(await(inFlight.poll()));
+        }
+        return hashes;
+    }
+
+    // true for hashes made with a lower strength than the current one, cheap enough for the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts right now. Please try again shortly.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts right now. Please try again shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS); // includes the queue wait
+        }
+    }
+
+    private Future<String> submitOrRunHere(CharSequence rawPassword) {
+        Callable<String> task = () -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword));
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(encodeTimer.record(() -> delegate.encode(rawPassword)));
+        }
+    }
+
+    private static String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hash")
+                .description("BCrypt latency as seen by the caller, queue wait included")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
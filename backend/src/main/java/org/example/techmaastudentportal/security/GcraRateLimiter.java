@@ -0,0 +1,50 @@
+package org.example.techmaastudentportal.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// token bucket in its GCRA form: one AtomicLong per key holding the theoretical arrival time (TAT) of the
+// next request, so a check is a cache lookup plus a CAS with no refill bookkeeping or locks
+public class GcraRateLimiter {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public GcraRateLimiter(int permitsPerMinute, int burst, long maxKeys) {
+        this.emissionIntervalNanos = Duration.ofMinutes(1).toNanos() / permitsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(burst - 1, 0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                // an idle bucket is full again after burst * interval, after that it carries no state
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * Math.max(burst, 1)))
+                .build();
+    }
+
+    // 0 when the request is allowed, otherwise the nanos until it would be
+    public long tryAcquire(String key) {
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long wait = start - now - burstToleranceNanos; // how far past the allowed burst this request lands
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getEmissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    public long getBurstToleranceNanos() {
+        return burstToleranceNanos;
+    }
+}
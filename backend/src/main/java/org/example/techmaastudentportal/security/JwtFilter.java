@@ -1,11 +1,13 @@
 package org.example.techmaastudentportal.security;
 
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.example.techmaastudentportal.enums.UserRole;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -22,9 +24,11 @@ import java.util.Collections;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final UserRevocationRegistry userRevocationRegistry;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, UserRevocationRegistry userRevocationRegistry) {
         this.jwtUtil = jwtUtil;
+        this.userRevocationRegistry = userRevocationRegistry;
     }
 
     @Override
@@ -46,16 +50,28 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        if(!jwtUtil.validateToken(token)) {
+        Claims claims = jwtUtil.parseClaims(token); // single verification, cached per token
+        if(claims==null) {
+            filterChain.doFilter(request,response);
+            return;
+        }
+        String role= (String) claims.get("role");
+        UserPrincipal principal;
+        try {
+            principal = new UserPrincipal(Long.valueOf(claims.getSubject()), UserRole.valueOf(role), claims.getIssuedAt());
+        }
+        catch(IllegalArgumentException | NullPointerException e){ // malformed subject or role claim
+            filterChain.doFilter(request,response);
+            return;
+        }
+        if(userRevocationRegistry.isRevoked(principal.getId(), principal.getIssuedAt())) { // in-memory check instead of loading the user row
             filterChain.doFilter(request,response);
             return;
         }
-        String subject = jwtUtil.extractSubject(token);
-        String role= jwtUtil.extractUserRole(token);
 
         //Spring security authentication object
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                                                                                subject,
+                                                                                principal,
                                                                       null,
                                                                                 Collections.singleton(new SimpleGrantedAuthority("ROLE_"+role))); //Spring requires ROLE_ prefix
 
@@ -1,30 +1,62 @@
 package org.example.techmaastudentportal.security;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 
 @Component
 public class JwtUtil {
 
+    private static final int CLAIMS_CACHE_SIZE = 10_000;
+
     private final SecretKey secretKey;
     private final long jwtExpirationInMillis;
+    private final JwtParser jwtParser; // immutable and thread-safe, built once
+    private final Cache<String, Claims> verifiedClaims; // token digest -> claims, evicted when the token expires
+    private final Timer verifyTimer;
 
 
-    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expirationMs}") long jwtExpirationInMillis ) {
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expirationMs}") long jwtExpirationInMillis, MeterRegistry meterRegistry) {
         this.secretKey= Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
         this.jwtExpirationInMillis=jwtExpirationInMillis;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(CLAIMS_CACHE_SIZE)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> timeToExpiry(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwtClaims"); // cache.gets hit/miss
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Signature check and parse of a token missing from the claims cache")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
 
@@ -53,35 +85,60 @@ public class JwtUtil {
         return cookie;
     }
 
-    public boolean validateToken(String token){
+    // verifies the token once and returns its claims, or null when it is invalid or expired
+    public Claims parseClaims(String token){
+        if(token==null || token.isBlank()){
+            return null;
+        }
+        String digest = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if(claims!=null){
+            return claims;
+        }
+        long start = System.nanoTime();
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            claims = jwtParser.parseClaimsJws(token).getBody();
         }
         catch(JwtException | IllegalArgumentException ex){
-            return false;
+            return null;
+        }
+        finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        verifiedClaims.put(digest, claims);
+        return claims;
     }
+
+    public boolean validateToken(String token){
+        return parseClaims(token)!=null;
     }
 
     public String extractSubject(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = parseClaims(token);
+        return claims!=null ? claims.getSubject() : null;
     }
 
     public String extractUserRole(String token){
-        return (String) Jwts.parserBuilder()
-                        .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("role");
+        Claims claims = parseClaims(token);
+        return claims!=null ? (String) claims.get("role") : null;
+    }
+
+    private static Duration timeToExpiry(Claims claims){
+        if(claims.getExpiration()==null){
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String digest(String token){
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        }
+        catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
 
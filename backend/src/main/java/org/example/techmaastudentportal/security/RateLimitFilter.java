@@ -0,0 +1,235 @@
+package org.example.techmaastudentportal.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// throttles the unauthenticated POST /auth/** endpoints per client IP and per email/phone before any
+// bcrypt, SMTP or database work happens. local GCRA buckets answer every check; with
+// rate-limit.redis.enabled the requests that pass locally are also checked against a shared redis bucket.
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final String IP_PREFIX = "ip:";
+    private static final String IDENTITY_PREFIX = "id:";
+
+    // the same GCRA step as GcraRateLimiter, on redis server time in microseconds
+    private static final RedisScript<Long> REDIS_GCRA = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then
+                tat = now
+            end
+            local wait = tat - now - tolerance
+            if wait > 0 then
+                return math.ceil(wait)
+            end
+            local nextTat = tat + interval
+            redis.call('SET', KEYS[1], string.format('%.0f', nextTat), 'PX', math.ceil((nextTat - now) / 1000))
+            return 0
+            """, Long.class);
+
+    private final GcraRateLimiter ipLimiter;
+    private final GcraRateLimiter identityLimiter;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RateLimitFilter(StringRedisTemplate redisTemplate,
+                           @Value("${rate-limit.ip.per-minute:60}") int ipPerMinute,
+                           @Value("${rate-limit.ip.burst:20}") int ipBurst,
+                           @Value("${rate-limit.identity.per-minute:10}") int identityPerMinute,
+                           @Value("${rate-limit.identity.burst:5}") int identityBurst,
+                           @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${rate-limit.redis.enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.ipLimiter = new GcraRateLimiter(ipPerMinute, ipBurst, maxKeys);
+        this.identityLimiter = new GcraRateLimiter(identityPerMinute, identityBurst, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !request.getServletPath().startsWith("/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long wait = check(ipLimiter, IP_PREFIX + request.getRemoteAddr());
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+
+        // every auth body is read here, whatever its content type, so no body reaches a controller unthrottled.
+        // at most MAX_BODY_BYTES + 1 bytes are buffered, chunked bodies (length -1) included
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            tooLarge(request, response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            tooLarge(request, response);
+            return;
+        }
+        for (String identity : identities(body)) {
+            wait = check(identityLimiter, IDENTITY_PREFIX + identity);
+            if (wait > 0) {
+                reject(request, response, wait);
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private long check(GcraRateLimiter limiter, String key) {
+        long wait = limiter.tryAcquire(key);
+        if (wait > 0 || !redisEnabled) {
+            return wait;
+        }
+        try {
+            Long redisWaitMicros = redisTemplate.execute(REDIS_GCRA, List.of("rate-limit:" + key),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(limiter.getEmissionIntervalNanos())),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(limiter.getBurstToleranceNanos())));
+            return redisWaitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(redisWaitMicros);
+        } catch (RuntimeException e) {
+            log.debug("Redis rate limit check failed, using the local decision", e);
+            return 0; // fail open on the shared bucket, the local one still applies
+        }
+    }
+
+    private List<String> identities(byte[] body) {
+        if (body.length == 0) {
+            return List.of();
+        }
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (json == null || !json.isObject()) {
+                return List.of();
+            }
+            List<String> identities = new ArrayList<>(2);
+            for (String field : List.of("email", "phone")) {
+                JsonNode value = json.get(field);
+                if (value != null && value.isTextual() && !value.asText().isBlank()) {
+                    identities.add(field + ":" + value.asText().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            return identities;
+        } catch (IOException e) {
+            return List.of(); // malformed JSON is rejected by the controller
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS.value(), "TOO MANY REQUESTS",
+                "Too many attempts. Please try again in " + retryAfterSeconds + " seconds.");
+    }
+
+    private void tooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader("Connection", "close"); // the rest of the body is not read
+        writeError(request, response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "PAYLOAD TOO LARGE",
+                "Request body exceeds " + MAX_BODY_BYTES + " bytes.");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, int status, String error, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("status", status);
+        errorDetails.put("timestamp", System.currentTimeMillis());
+        errorDetails.put("error", error);
+        errorDetails.put("message", message);
+        errorDetails.put("path", request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), errorDetails);
+    }
+
+    // replays the bounded body read above so the controller can still bind it
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is already in memory, so it is available at once and then complete
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package org.example.techmaastudentportal.security;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -21,15 +21,17 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
 
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception{
+    public SecurityFilterChain filterChain(HttpSecurity http, @Value("${management.server.port:8081}") int managementPort) throws Exception{
         http.csrf(csrf->csrf.disable())
                 .cors(cors -> cors.configurationSource(request -> {
                     CorsConfiguration cfg = new CorsConfiguration();
@@ -47,18 +49,30 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth->auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        // actuator is only served on the management port, which the public ingress never routes to
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                                                 .requestMatchers("/admin/**").hasRole("ADMIN")
                                                 .requestMatchers("/staff/**").hasRole("STAFF")
                                                 .requestMatchers("/student/**").hasRole("STUDENT")
                                                 .anyRequest().authenticated());
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, JwtFilter.class); // reject floods before any token or body work
 
                 return http.build();
     }
 
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder(); // concrete implementations can be swapped
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.bcrypt.strength:12}") int strength,
+                                           @Value("${password.hashing.threads:0}") int threads,
+                                           @Value("${password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${password.hashing.timeout-ms:5000}") long timeoutMs){
+        // the strength is pinned so every node hashes (and upgrades hashes) with the same cost, threads 0 means one per core
+        if(strength < BoundedPasswordEncoder.MIN_STRENGTH || strength > BoundedPasswordEncoder.MAX_STRENGTH){
+            throw new IllegalStateException("password.bcrypt.strength must be between " + BoundedPasswordEncoder.MIN_STRENGTH + " and " + BoundedPasswordEncoder.MAX_STRENGTH);
+        }
+        int hashThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, hashThreads, queueCapacity, timeoutMs, meterRegistry);
     }
 }
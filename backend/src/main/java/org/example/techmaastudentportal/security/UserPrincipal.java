@@ -0,0 +1,21 @@
+package org.example.techmaastudentportal.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.techmaastudentportal.enums.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements AuthenticatedPrincipal { // verified JWT claims, lives for one request in the security context
+    private final Long id;
+    private final UserRole role;
+    private final Date issuedAt;
+
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
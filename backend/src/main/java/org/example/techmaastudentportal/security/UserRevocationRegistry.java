@@ -0,0 +1,105 @@
+package org.example.techmaastudentportal.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class UserRevocationRegistry { // users whose tokens must stop working, e.g. soft deleted accounts
+
+    private static final String REVOKED_USERS_KEY = "auth:revoked-users";
+    private static final String REVOCATION_CHANNEL = "auth:user-revocations";
+
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>(); // user id -> revocation time
+    private final StringRedisTemplate redisTemplate;
+    private final long jwtExpirationInMillis;
+
+    public UserRevocationRegistry(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                                  @Value("${jwt.expirationMs}") long jwtExpirationInMillis) {
+        this.redisTemplate = redisTemplate;
+        this.jwtExpirationInMillis = jwtExpirationInMillis;
+        listenerContainer.addMessageListener(this::onRevocation, new ChannelTopic(REVOCATION_CHANNEL));
+    }
+
+    @PostConstruct
+    void loadRevocations() { // pick up users revoked on other nodes before this one started
+        try {
+            long cutoff = System.currentTimeMillis() - jwtExpirationInMillis;
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_USERS_KEY, 0, cutoff);
+            Set<ZSetOperations.TypedTuple<String>> revoked = redisTemplate.opsForZSet().rangeWithScores(REVOKED_USERS_KEY, 0, -1);
+            if (revoked != null) {
+                for (ZSetOperations.TypedTuple<String> entry : revoked) {
+                    try {
+                        revokedAt.put(Long.valueOf(entry.getValue()), entry.getScore().longValue());
+                    } catch (NumberFormatException e) {
+                        log.warn("Ignoring malformed revoked user '{}'", entry.getValue());
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load revoked users from redis: {}", e.getMessage());
+        }
+    }
+
+    // only tokens issued up to the revocation are refused, a later login gets a working token again.
+    // iat has whole-second precision, so a token from the same second as the revocation still counts as revoked
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedTime = revokedAt.get(userId);
+        if (revokedTime == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedTime / 1000;
+    }
+
+    public void revokeAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            revoke(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revoke(userId);
+            }
+        });
+    }
+
+    public void revoke(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedAt.put(userId, now);
+        // tokens issued before this point are expired anyway
+        revokedAt.values().removeIf(at -> at < now - jwtExpirationInMillis);
+        try {
+            redisTemplate.opsForZSet().add(REVOKED_USERS_KEY, userId.toString(), now);
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, userId + ":" + now);
+        } catch (DataAccessException e) {
+            log.warn("Could not publish revocation of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void onRevocation(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        try {
+            revokedAt.merge(Long.valueOf(parts[0]), Long.valueOf(parts[1]), Math::max);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed revocation message '{}'", body);
+        }
+    }
+}
@@ -1,44 +1,91 @@
 package org.example.techmaastudentportal.service;
 
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Tuple;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.example.techmaastudentportal.dto.*;
 import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.exception.BadRequestException;
 import org.example.techmaastudentportal.exception.EntityAlreadyExistException;
 import org.example.techmaastudentportal.exception.EntityNotFoundException;
 import org.example.techmaastudentportal.exception.UnauthorizedAccessException;
 import org.example.techmaastudentportal.models.Admin;
 import org.example.techmaastudentportal.models.Student;
-import org.example.techmaastudentportal.models.User;
 import org.example.techmaastudentportal.repository.AdminRepository;
 import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.search.StudentSearchIndex;
+import org.example.techmaastudentportal.security.UserPrincipal;
+import org.example.techmaastudentportal.security.UserRevocationRegistry;
+import org.example.techmaastudentportal.specification.StudentCursor;
+import org.example.techmaastudentportal.specification.StudentKeysetSpecification;
 import org.example.techmaastudentportal.specification.StudentSpecification;
 import org.example.techmaastudentportal.util.AuthenticatedUserUtil;
+import org.example.techmaastudentportal.util.CursorUtil;
 import org.example.techmaastudentportal.util.ObjectDTOMapper;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class AdminService {
+    private static final int MAX_PAGE_SIZE = 200;
+    // sort columns usable as a keyset
+    private static final Set<String> KEYSET_SORT_COLUMNS = Set.of("createdAt", "name", "rollNo", "marks", "id");
+    private static final int NDJSON_FLUSH_ROWS = 200;
+    // rows kept in memory by the streaming workbook, older rows are flushed to a temp file
+    private static final int EXCEL_ROW_WINDOW = 100;
+    private static final String[] EXCEL_HEADERS = {
+            "Roll No", "Name", "Email", "Phone", "Role",
+            "Course", "Department", "Address", "Age",
+            "Gender", "Year", "Semester", "Marks"
+    };
+    // fixed widths (in characters) instead of autoSizeColumn, which rescans every row
+    private static final int[] EXCEL_COLUMN_WIDTHS = {12, 24, 30, 14, 10, 24, 14, 36, 6, 8, 6, 9, 8};
+
     private final AdminRepository adminRepository;
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticatedUserUtil authenticatedUserUtil;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final StudentSearchIndex studentSearchIndex;
+    private final DistributionSummary exportRows;
+    private final ObjectWriter ndjsonRowWriter;
 
-    public AdminService(AdminRepository adminRepository, StudentRepository studentRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil) {
+    public AdminService(AdminRepository adminRepository, StudentRepository studentRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil, UserRevocationRegistry userRevocationRegistry, StudentSearchIndex studentSearchIndex, MeterRegistry meterRegistry, JsonMapper jsonMapper) {
         this.adminRepository = adminRepository;
         this.studentRepository = studentRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticatedUserUtil = authenticatedUserUtil;
+        this.userRevocationRegistry = userRevocationRegistry;
+        this.studentSearchIndex = studentSearchIndex;
+        this.exportRows = DistributionSummary.builder("students.export.rows")
+                .description("Rows written per Excel export")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        // one JSON object per line from the mapper behind the regular JSON endpoints, so both agree on dates,
+        // enums and nulls. the newline is written by us instead of jackson's root value separator
+        this.ndjsonRowWriter = jsonMapper.writerFor(StudentResponseDTO.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE) // we flush in batches below
+                .withRootValueSeparator((String) null);
     }
 
     @Transactional
@@ -54,35 +101,73 @@ public class AdminService {
         admin.setRole(UserRole.ADMIN);
         admin.setGender(adminDTO.getGender());
 
-        adminRepository.saveAndFlush(admin);
-        String adminId= String.format("AD%06d", admin.getId());
-        admin.setAdminId(adminId);
-        adminRepository.save(admin);
+        adminRepository.saveAndFlush(admin); // adminId is derived from the pooled id when the insert runs, flush before reading it
         return ObjectDTOMapper.toSignupDto(admin);
     }
 
+    // read-write so it stays on the primary: a profile fetched right after an update must see it, a replica may lag
+    @Transactional
     public AdminProfileResponseDTO getProfile(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        if(user.getRole()!=UserRole.ADMIN || user.isDeleted()){
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        if(principal.getRole()!=UserRole.ADMIN){
             throw new UnauthorizedAccessException("You are unauthorized to access this page");
         }
-        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(user.getId());
+        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalAdmin.isEmpty()) {
             throw new EntityNotFoundException("Admin entity does not exist.");
         }
-        return ObjectDTOMapper.toAdminProfileResponseDTO(optionalAdmin.get());
+        Admin admin = optionalAdmin.get();
+        AdminProfileResponseDTO responseDTO = ObjectDTOMapper.toAdminProfileResponseDTO(admin);
+        responseDTO.setEtag(ProfileVersionCache.eTagOf(admin, null));
+        return responseDTO;
     }
 
+    @Transactional(readOnly = true)
     public List<StudentResponseDTO> getStudents(StudentFilterReqDTO studentFilterDTO){
     
-        Specification<Student> specification = new StudentSpecification(studentFilterDTO);
-        Sort sort= "desc".equalsIgnoreCase(studentFilterDTO.getSortDir())
-                ? Sort.by(studentFilterDTO.getSortBy()).descending()
-                : Sort.by(studentFilterDTO.getSortBy()).ascending();
-        List<Student> students = studentRepository.findAll(specification,sort);
-        return ObjectDTOMapper.toStudentResponseDtoList(students);
+        Specification<Student> specification = studentSpecification(studentFilterDTO);
+        return studentRepository.findAllResponses(specification,buildSort(studentFilterDTO));
     }
 
+    @Transactional(readOnly = true)
+    public StudentPageResponseDTO getStudentPage(StudentFilterReqDTO studentFilterDTO, String cursorToken, int size){
+        String sortBy = studentFilterDTO.getSortBy();
+        if(!KEYSET_SORT_COLUMNS.contains(sortBy)){
+            throw new BadRequestException("Paged results can only be sorted by " + KEYSET_SORT_COLUMNS);
+        }
+        String sortDir = "desc".equalsIgnoreCase(studentFilterDTO.getSortDir()) ? "desc" : "asc";
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        Specification<Student> specification = studentSpecification(studentFilterDTO);
+        if(cursorToken!=null && !cursorToken.isBlank()){
+            StudentCursor cursor = CursorUtil.decode(cursorToken);
+            if(!sortBy.equals(cursor.getSortBy()) || !sortDir.equals(cursor.getSortDir())){
+                throw new BadRequestException("Cursor does not match the requested sort order.");
+            }
+            specification = specification.and(new StudentKeysetSpecification(cursor));
+        }
+        Sort.Direction direction = "desc".equals(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = "id".equals(sortBy) ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+
+        // one extra row tells us whether another page exists without a count query
+        List<Tuple> rows = studentRepository.findPageResponses(specification, sort, sortBy, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if(hasNext){
+            rows = rows.subList(0, pageSize);
+        }
+
+        StudentPageResponseDTO responseDTO = new StudentPageResponseDTO();
+        responseDTO.setStudents(rows.stream().map(ObjectDTOMapper::toStudentResponseDTO).toList());
+        responseDTO.setHasNext(hasNext);
+        if(hasNext){
+            Tuple last = rows.get(rows.size() - 1);
+            Object lastValue = last.get(sortBy);
+            responseDTO.setNextCursor(CursorUtil.encode(new StudentCursor(sortBy, sortDir, lastValue==null ? null : lastValue.toString(), last.get("id", Long.class))));
+        }
+        return responseDTO;
+    }
+
+    @Transactional(readOnly = true)
     public StudentResponseDTO getStudentByRollNo(String rollNo){
        Optional<Student> optionalStudent = studentRepository.findByRollNoAndIsDeletedFalse(rollNo);
        if(optionalStudent.isEmpty() || optionalStudent.get().isDeleted()) {
@@ -95,8 +180,8 @@ public class AdminService {
 
     @Transactional
     public AdminProfileResponseDTO updateAdmin(AdminUpdateReqDTO adminDTO){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalAdmin.isEmpty()){
             throw new UnauthorizedAccessException("Unauthorized to access.");
         }
@@ -116,20 +201,59 @@ public class AdminService {
 
     @Transactional
     public void deleteAdmin(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Admin> optionalAdmin = adminRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalAdmin.isEmpty()){
             throw new EntityNotFoundException("Entity with given id. does not exist.");
         }
         Admin admin = optionalAdmin.get();
         admin.setDeleted(true);
         adminRepository.save(admin);
+        userRevocationRegistry.revokeAfterCommit(admin.getId());
     }
 
-    //export to excel
-    public byte[] exportStudentsToExcel(List<StudentResponseDTO> studentDTOList){
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+    //streaming export, rows go from the DB cursor to the response without being collected
+    @Transactional(readOnly = true)
+    public void writeStudentsToExcel(StudentFilterReqDTO studentFilterDTO, OutputStream out) throws IOException {
+        Specification<Student> specification = studentSpecification(studentFilterDTO);
+        try (Stream<StudentResponseDTO> students = studentRepository.streamAllResponses(specification, buildSort(studentFilterDTO))) {
+            writeStudentsSheet(students.iterator(), out);
+        }
+    }
+
+    //streaming json lines, each row is written as the cursor reads it and nothing is collected.
+    //the first row is flushed right away so the client sees data before the query finishes
+    @Transactional(readOnly = true)
+    public void writeStudentsAsNdjson(StudentFilterReqDTO studentFilterDTO, OutputStream out) throws IOException {
+        Specification<Student> specification = studentSpecification(studentFilterDTO);
+        try (Stream<StudentResponseDTO> students = studentRepository.streamAllResponses(specification, buildSort(studentFilterDTO));
+             JsonGenerator generator = ndjsonRowWriter.createGenerator(out)) {
+            int rows = 0;
+            Iterator<StudentResponseDTO> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                ndjsonRowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++rows == 1 || rows % NDJSON_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+    }
+
+    // resolves the keyword through the search index so the query starts from a set of ids
+    private Specification<Student> studentSpecification(StudentFilterReqDTO studentFilterDTO){
+        String keyword = studentFilterDTO.getKeyword();
+        if(keyword==null || keyword.isBlank()){
+            return new StudentSpecification(studentFilterDTO);
+        }
+        return new StudentSpecification(studentFilterDTO, studentSearchIndex.search(keyword));
+    }
+
+    private void writeStudentsSheet(Iterator<StudentResponseDTO> students, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Students");
             //Create Bold header Style
             CellStyle headerStyle =workbook.createCellStyle();
@@ -137,29 +261,24 @@ public class AdminService {
             font.setBold(true);
             headerStyle.setFont(font);
 
-            String[] headers = {
-                    "Roll No", "Name", "Email", "Phone", "Role",
-                    "Course", "Department", "Address", "Age",
-                    "Gender", "Year", "Semester", "Marks"
-            };
-
             // Create Header Row
             Row headerRow = sheet.createRow(0);
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(EXCEL_HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                sheet.setColumnWidth(i, EXCEL_COLUMN_WIDTHS[i] * 256);
             }
 
             // Populate Data Rows
             int rowIdx = 1;
-            for (StudentResponseDTO student : studentDTOList) {
+            while (students.hasNext()) {
+                StudentResponseDTO student = students.next();
                 Row row = sheet.createRow(rowIdx++);
 
-                // Assuming StudentResponseDTO has these fields
-                 row.createCell(0).setCellValue(student.getRollNo());
-                 row.createCell(1).setCellValue(student.getName());
-                 row.createCell(2).setCellValue(student.getEmail()!=null ? student.getEmail() : "");
+                row.createCell(0).setCellValue(student.getRollNo());
+                row.createCell(1).setCellValue(student.getName());
+                row.createCell(2).setCellValue(student.getEmail()!=null ? student.getEmail() : "");
                 row.createCell(3).setCellValue(student.getPhone()!=null ? student.getPhone(): "");
                 row.createCell(4).setCellValue(student.getRole()!=null ? student.getRole().toString():"");
                 row.createCell(5).setCellValue(student.getCourseTitle()!=null ? student.getCourseTitle():"N/A");
@@ -170,17 +289,18 @@ public class AdminService {
                 row.createCell(10).setCellValue(student.getAcademicYear() !=null ? student.getAcademicYear():0);
                 row.createCell(11).setCellValue(student.getSemester()!=null ? student.getSemester():0);
                 row.createCell(12).setCellValue(student.getMarks()!= null ? student.getMarks():0.0);
-
-            }
-            //Auto-size columns
-            for(int i=0;i<headers.length;i++){
-                sheet.autoSizeColumn(i);
             }
+            exportRows.record(rowIdx - 1);
             workbook.write(out);
-            return out.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Excel Generation Error: "+ e.getMessage());
+        } finally {
+            workbook.close(); // also deletes the temp files backing flushed rows
         }
     }
 
+    private Sort buildSort(StudentFilterReqDTO studentFilterDTO){
+        return "desc".equalsIgnoreCase(studentFilterDTO.getSortDir())
+                ? Sort.by(studentFilterDTO.getSortBy()).descending()
+                : Sort.by(studentFilterDTO.getSortBy()).ascending();
+    }
+
 }
@@ -1,60 +1,86 @@
 package org.example.techmaastudentportal.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.annotation.Transactional;
 import org.example.techmaastudentportal.dto.*;
 import org.example.techmaastudentportal.exception.EntityNotFoundException;
 import org.example.techmaastudentportal.exception.InvalidCredentialsException;
-import org.example.techmaastudentportal.models.User;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
 import org.example.techmaastudentportal.repository.UserRepository;
 import org.example.techmaastudentportal.security.JwtUtil;
+import org.example.techmaastudentportal.util.ObjectDTOMapper;
 import org.example.techmaastudentportal.util.OtpUtil;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseCookie;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
-    private final RedisTemplate<String,String> redisTemplate;
-    @Qualifier("emailNotification")
+    private final OtpStore otpStore;
     private final Notification notification;
+    private final MeterRegistry meterRegistry;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,JwtUtil jwtUtil,RedisTemplate redisTemplate,Notification notification) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,JwtUtil jwtUtil,OtpStore otpStore,@Qualifier("queuedEmailNotification") Notification notification, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
-        this.redisTemplate = redisTemplate;
+        this.otpStore = otpStore;
         this.notification = notification;
+        this.meterRegistry = meterRegistry;
     }
 
-    @Transactional
+    // not transactional: the projection query borrows a connection only for itself and bcrypt runs after it is returned
     public LoginResult login(UserLoginReqDTO userDTO){
-        if((userDTO.getEmail()!=null && !userDTO.getEmail().isBlank() && !userRepository.existsByEmailAndIsDeletedFalse(userDTO.getEmail())) ||(userDTO.getPhone()!=null && !userDTO.getPhone().isBlank() && !userRepository.existsByPhoneAndIsDeletedFalse(userDTO.getPhone()))){
-            throw new EntityNotFoundException("User with given Credentials not found.Please Signup.");
-        }
-        User user= new User();
+        return timed("login", () -> doLogin(userDTO));
+    }
+
+    private LoginResult doLogin(UserLoginReqDTO userDTO){
+        Optional<UserLoginView> optionalUser;
         if(userDTO.getEmail()!=null && !userDTO.getEmail().isBlank()){
-            user= userRepository.findByEmailAndIsDeletedFalse(userDTO.getEmail()).get();
+            optionalUser = userRepository.findLoginViewByEmailAndIsDeletedFalse(userDTO.getEmail());
         }
-        else if(userDTO.getPhone()!=null && !userDTO.getPhone().isBlank()){
-            user= userRepository.findByPhoneAndIsDeletedFalse(userDTO.getPhone()).get();
+        else {
+            optionalUser = userRepository.findLoginViewByPhoneAndIsDeletedFalse(userDTO.getPhone());
         }
+        UserLoginView user = optionalUser.orElseThrow(()-> new EntityNotFoundException("User with given Credentials not found.Please Signup."));
         if(!passwordEncoder.matches(userDTO.getPassword(),user.getPassword())){
             throw new InvalidCredentialsException("Provided credentials does not match a valid account.");
         }
+        if(passwordEncoder.upgradeEncoding(user.getPassword())){
+            upgradeHash(user, userDTO.getPassword());
+        }
 
         String token= jwtUtil.generateToken(user.getId(), user.getRole().toString());
-        return new LoginResult(user,token);
+        return new LoginResult(ObjectDTOMapper.toUserLoginResponseDTO(user),token);
+    }
+
+    // hash from an older work factor, upgrade it while we still hold the raw password. best-effort: the login
+    // has already succeeded, so a saturated hashing pool skips the upgrade until the next login instead of failing it
+    private void upgradeHash(UserLoginView user, String rawPassword){
+        try {
+            userRepository.rehashPassword(user.getId(), user.getPassword(), passwordEncoder.encode(rawPassword));
+        } catch (TooManyRequestsException e) {
+            meterRegistry.counter("security.password.rehash.skipped").increment();
+        }
     }
 
     @Transactional
     public void generateEmailOTP(UserEmailOTPLoginReqDTO reqDTO){
+        timed("generateEmailOTP", () -> {
+            doGenerateEmailOTP(reqDTO);
+            return null;
+        });
+    }
+
+    private void doGenerateEmailOTP(UserEmailOTPLoginReqDTO reqDTO){
         if((reqDTO.getEmail()!=null && !reqDTO.getEmail().isBlank() && !userRepository.existsByEmailAndIsDeletedFalse(reqDTO.getEmail()))){
             throw new EntityNotFoundException("User with given Email not found.Please Register first.");
         }
@@ -68,21 +94,36 @@ public class AuthService {
         builder.append("This OTP is valid for 5 minutes. Please do not share this OTP with anyone.\n");
         builder.append(otp);
         emailDTO.setBody(builder.toString());
-        redisTemplate.opsForValue().set(reqDTO.getEmail(),otp,5, TimeUnit.MINUTES);
-        notification.sendNotification(emailDTO);
+        // stored before the mail is queued so the code in any mail that goes out can be verified
+        otpStore.issue(reqDTO.getEmail(),otp);
+        try {
+            notification.sendNotification(emailDTO);
+        }
+        catch(RuntimeException e){
+            otpStore.revoke(reqDTO.getEmail(),otp); // nobody will receive this code
+            throw e;
+        }
     }
 
-    @Transactional
     public LoginResult validateLoginOtp(UserEmailOTPLoginValidationDTO reqDTO){
-        if((reqDTO.getEmail()!=null && !reqDTO.getEmail().isBlank() && !userRepository.existsByEmailAndIsDeletedFalse(reqDTO.getEmail()))){
-            throw new EntityNotFoundException("User with given Email not found. Please Register first.");
+        return timed("validateLoginOtp", () -> doValidateLoginOtp(reqDTO));
+    }
+
+    private LoginResult doValidateLoginOtp(UserEmailOTPLoginValidationDTO reqDTO){
+        if(reqDTO.getEmail()==null || reqDTO.getEmail().isBlank() || reqDTO.getOtp()==null || reqDTO.getOtp().isBlank()){
+            throw new InvalidCredentialsException("Email and OTP are required.");
         }
-        if(!reqDTO.getOtp().equals(redisTemplate.opsForValue().get(reqDTO.getEmail()))){
-            throw new InvalidCredentialsException("Provided OTP is incorrect.");
+        // checked first so a wrong guess costs one redis round trip and no query
+        switch(otpStore.verify(reqDTO.getEmail(), reqDTO.getOtp())){
+            case INVALID -> throw new InvalidCredentialsException("Provided OTP is incorrect.");
+            case EXPIRED -> throw new InvalidCredentialsException("OTP has expired or was already used. Please request a new one.");
+            case LOCKED -> throw new TooManyRequestsException("Too many incorrect attempts. Please try again later.");
+            case VERIFIED -> { }
         }
-        User user= userRepository.findByEmailAndIsDeletedFalse(reqDTO.getEmail()).get();
+        UserLoginView user = userRepository.findLoginViewByEmailAndIsDeletedFalse(reqDTO.getEmail())
+                .orElseThrow(()-> new EntityNotFoundException("User with given Email not found. Please Register first."));
         String token= jwtUtil.generateToken(user.getId(), user.getRole().toString());
-        return new LoginResult(user,token);
+        return new LoginResult(ObjectDTOMapper.toUserLoginResponseDTO(user),token);
     }
 
     @Transactional
@@ -94,5 +135,24 @@ public class AuthService {
                 .build();
     }
 
+    // auth.operation{operation, outcome}, outcome is the exception simple name when the call fails
+    private <T> T timed(String operation, Supplier<T> work){
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("auth.operation")
+                    .description("Latency of login and OTP operations")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
 
 }
@@ -2,12 +2,12 @@ package org.example.techmaastudentportal.service;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import org.example.techmaastudentportal.models.User;
+import org.example.techmaastudentportal.dto.UserLoginResponseDTO;
 
 
 @Data
 @AllArgsConstructor
 public class LoginResult {
-    private User user;
+    private UserLoginResponseDTO user;
     private String token;
 }
@@ -0,0 +1,103 @@
+package org.example.techmaastudentportal.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+// login OTPs in redis: the code under one key per email, failed attempts under a second key whose TTL is the
+// attempt window. issuing and verifying are lua scripts, so each is a single atomic round trip. re-issuing
+// replaces the code but leaves the attempts alone, so requesting a fresh OTP never buys more guesses.
+@Service
+public class OtpStore {
+    public static final Duration OTP_TTL = Duration.ofMinutes(5);
+    private static final String KEY_PREFIX = "otp:login:";
+    private static final String ATTEMPTS_KEY_PREFIX = "otp:attempts:";
+
+    private static final RedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // deletes the code only while it is still the one given, a newer OTP issued in between stays
+    private static final RedisScript<Long> REVOKE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    // 1 verified, 0 wrong code, -1 no OTP (expired or never issued), -2 out of attempts for this window
+    private static final RedisScript<Long> VERIFY = new DefaultRedisScript<>("""
+            local attempts = tonumber(redis.call('GET', KEYS[2]) or '0')
+            if attempts >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1])
+                return -2
+            end
+            local code = redis.call('GET', KEYS[1])
+            if not code then
+                return -1
+            end
+            if code == ARGV[1] then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return 1
+            end
+            attempts = redis.call('INCR', KEYS[2])
+            if attempts == 1 then
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            end
+            if attempts >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1])
+                return -2
+            end
+            return 0
+            """, Long.class);
+
+    public enum VerifyResult { VERIFIED, INVALID, EXPIRED, LOCKED }
+
+    private final StringRedisTemplate redisTemplate;
+    private final int maxAttempts;
+    private final Duration attemptWindow;
+
+    public OtpStore(StringRedisTemplate redisTemplate, @Value("${otp.max-attempts:5}") int maxAttempts,
+                    @Value("${otp.attempt-window:PT30M}") Duration attemptWindow) {
+        this.redisTemplate = redisTemplate;
+        this.maxAttempts = maxAttempts;
+        this.attemptWindow = attemptWindow;
+    }
+
+    // replaces any OTP already pending for the email, failed attempts carry over
+    public void issue(String email, String otp) {
+        redisTemplate.execute(ISSUE, List.of(key(email)), otp, String.valueOf(OTP_TTL.toMillis()));
+    }
+
+    // withdraws an OTP whose mail could not be sent, failed attempts are left alone
+    public void revoke(String email, String otp) {
+        redisTemplate.execute(REVOKE, List.of(key(email)), otp);
+    }
+
+    public VerifyResult verify(String email, String otp) {
+        Long result = redisTemplate.execute(VERIFY, List.of(key(email), attemptsKey(email)), otp,
+                String.valueOf(maxAttempts), String.valueOf(attemptWindow.toMillis()));
+        if (result == null || result == -1) {
+            return VerifyResult.EXPIRED;
+        }
+        if (result == 1) {
+            return VerifyResult.VERIFIED;
+        }
+        return result == -2 ? VerifyResult.LOCKED : VerifyResult.INVALID;
+    }
+
+    private static String key(String email) {
+        return KEY_PREFIX + email.toLowerCase(Locale.ROOT);
+    }
+
+    private static String attemptsKey(String email) {
+        return ATTEMPTS_KEY_PREFIX + email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.techmaastudentportal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.techmaastudentportal.dto.ProfileVersionView;
+import org.example.techmaastudentportal.exception.EntityNotFoundException;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.User;
+import org.example.techmaastudentportal.repository.UserRepository;
+import org.example.techmaastudentportal.util.AuthenticatedUserUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+// user id -> profile ETag, so a conditional profile GET is answered without loading the entity.
+// the tag is built from the user's and its course's version columns, so every node derives the same one.
+// ProfileVersionListener drops entries on change and the drop is broadcast to the other nodes over redis;
+// entries also expire after the ttl in case a broadcast is missed
+@Slf4j
+@Component
+public class ProfileVersionCache {
+    // browsers keep the profile but revalidate it with If-None-Match every time, shared caches never store it
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final String INVALIDATION_CHANNEL = "profile:version-invalidations";
+    private static final String ALL_USERS = "*";
+
+    private final UserRepository userRepository;
+    private final AuthenticatedUserUtil authenticatedUserUtil;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, String> eTags;
+
+    public ProfileVersionCache(UserRepository userRepository, AuthenticatedUserUtil authenticatedUserUtil, MeterRegistry meterRegistry,
+                               StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+                               @Value("${profile.version-cache.max-size:100000}") long maxSize,
+                               @Value("${profile.version-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.authenticatedUserUtil = authenticatedUserUtil;
+        this.redisTemplate = redisTemplate;
+        this.eTags = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, eTags, "profileVersions");
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    // the current ETag when If-None-Match still matches it (weak comparison, as RFC 9110 asks for If-None-Match).
+    // a full response carries eTagOf() the rows it was actually built from instead
+    public Optional<String> matchingETag(String ifNoneMatch){
+        if(ifNoneMatch==null || ifNoneMatch.isBlank()){
+            return Optional.empty(); // nothing to compare, skip the lookup
+        }
+        String current = currentUserETag();
+        for(String candidate : ifNoneMatch.split(",")){
+            String tag = candidate.trim();
+            if(tag.startsWith("W/")){
+                tag = tag.substring(2);
+            }
+            if(tag.equals("*") || tag.equals(current)){
+                return Optional.of(current);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private String currentUserETag(){
+        Long userId = authenticatedUserUtil.getCurrentPrincipal().getId();
+        String eTag = eTags.get(userId, id -> userRepository.findProfileVersionById(id)
+                .map(versions -> eTag(id, versions))
+                .orElse(null));
+        if(eTag==null){
+            throw new EntityNotFoundException("User not found.");
+        }
+        return eTag;
+    }
+
+    public static String eTagOf(User user, Course course){
+        return eTag(user.getId(), user.getVersion(), course!=null ? course.getVersion() : null);
+    }
+
+    private static String eTag(Long userId, ProfileVersionView versions){
+        return eTag(userId, versions.getUserVersion(), versions.getCourseVersion());
+    }
+
+    private static String eTag(Long userId, long userVersion, Long courseVersion){
+        return "\"" + Long.toString(userId, 36) + "-" + Long.toString(userVersion, 36) + "-"
+                + (courseVersion!=null ? Long.toString(courseVersion, 36) : "") + "\"";
+    }
+
+    void userChanged(Long userId){
+        eTags.invalidate(userId);
+        // again once the change is committed, a read in between may have cached the old version
+        afterCompletion(() -> {
+            eTags.invalidate(userId);
+            publish(userId.toString());
+        });
+    }
+
+    // a course change touches the tag of every student and staff member on it, drop them all
+    void courseChanged(){
+        eTags.invalidateAll();
+        afterCompletion(() -> {
+            eTags.invalidateAll();
+            publish(ALL_USERS);
+        });
+    }
+
+    private void publish(String message){
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast profile version invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(Message message, byte[] pattern){
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if(ALL_USERS.equals(body)){
+            eTags.invalidateAll();
+            return;
+        }
+        try {
+            eTags.invalidate(Long.valueOf(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed profile version invalidation '{}'", body);
+        }
+    }
+
+    private static void afterCompletion(Runnable action){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+        else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.techmaastudentportal.service;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.User;
+import org.springframework.beans.factory.ObjectProvider;
+
+// entity listener on BaseModel, created by hibernate through the spring bean container.
+// the cache is looked up lazily because JPA slice tests and benchmarks run without it
+public class ProfileVersionListener {
+
+    private final ObjectProvider<ProfileVersionCache> profileVersionCache;
+
+    public ProfileVersionListener(ObjectProvider<ProfileVersionCache> profileVersionCache) {
+        this.profileVersionCache = profileVersionCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity){
+        ProfileVersionCache cache = profileVersionCache.getIfAvailable();
+        if(cache==null){
+            return;
+        }
+        if(entity instanceof User user){
+            cache.userChanged(user.getId());
+        }
+        else if(entity instanceof Course){
+            cache.courseChanged();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.techmaastudentportal.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.techmaastudentportal.dto.NotificationReqDTO;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// queues mails on the request thread and sends them in batches from a small worker pool
+@Slf4j
+@Service("queuedEmailNotification")
+public class QueuedEmailNotification implements Notification {
+
+    private final JavaMailSender javaMailSender;
+    private final BlockingQueue<PendingEmail> queue;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Timer deliveryLatency;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final AtomicLong nextId = new AtomicLong(); // names a mail in the logs, recipients are not logged
+    private volatile boolean running = true;
+
+    public QueuedEmailNotification(JavaMailSender javaMailSender, MeterRegistry meterRegistry,
+                                   @Value("${notification.email.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${notification.email.workers:2}") int workerCount,
+                                   @Value("${notification.email.batch-size:20}") int batchSize,
+                                   @Value("${notification.email.max-attempts:3}") int maxAttempts,
+                                   @Value("${notification.email.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.javaMailSender = javaMailSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+
+        meterRegistry.gauge("notification.email.queue.depth", queue, BlockingQueue::size);
+        this.deliveryLatency = Timer.builder("notification.email.delivery.latency")
+                .description("Time from enqueue to accepted by the SMTP server")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("notification.email.sent");
+        this.failedCounter = meterRegistry.counter("notification.email.failed");
+        this.rejectedCounter = meterRegistry.counter("notification.email.rejected");
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedDaemon("email-retry"));
+        this.workers = Executors.newFixedThreadPool(workerCount, namedDaemon("email-worker"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainQueue);
+        }
+    }
+
+    @Override
+    public void sendNotification(NotificationReqDTO request) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(request.getTo());
+        message.setSubject(request.getSubject());
+        message.setText(request.getBody());
+        if (!queue.offer(new PendingEmail(nextId.incrementAndGet(), message, System.nanoTime(), 1))) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Email service is busy. Please try again shortly.");
+        }
+    }
+
+    private void drainQueue() {
+        List<PendingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEmail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) { // never let a worker die
+                log.error("Email worker failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<PendingEmail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = batch.get(i).message;
+        }
+        Map<Object, Exception> failedMessages = Map.of();
+        try {
+            javaMailSender.send(messages); // one SMTP connection for the whole batch
+        } catch (MailSendException e) {
+            failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                failedMessages = allFailed(batch, e);
+            }
+        } catch (MailException e) {
+            failedMessages = allFailed(batch, e);
+        }
+
+        long now = System.nanoTime();
+        for (PendingEmail email : batch) {
+            Exception failure = failedMessages.get(email.message);
+            if (failure == null) {
+                sentCounter.increment();
+                deliveryLatency.record(now - email.enqueuedAt, TimeUnit.NANOSECONDS);
+            } else {
+                retryLater(email, failure);
+            }
+        }
+    }
+
+    private void retryLater(PendingEmail email, Exception failure) {
+        if (email.attempt >= maxAttempts || !running) {
+            failedCounter.increment();
+            log.warn("Giving up on email {} after {} attempts: {}", email.id, email.attempt, failure.getMessage());
+            return;
+        }
+        long backoff = retryBackoffMs << (email.attempt - 1); // 1x, 2x, 4x ...
+        PendingEmail retry = new PendingEmail(email.id, email.message, email.enqueuedAt, email.attempt + 1);
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(retry)) {
+                failedCounter.increment();
+                log.warn("Dropping retry of email {}, queue is full", email.id);
+            }
+        }, backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private static Map<Object, Exception> allFailed(List<PendingEmail> batch, Exception e) {
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        for (PendingEmail email : batch) {
+            failed.put(email.message, e);
+        }
+        return failed;
+    }
+
+    private static ThreadFactory namedDaemon(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false; // workers finish what is already queued
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} queued emails were not sent before shutdown", queue.size());
+            workers.shutdownNow();
+        }
+    }
+
+    private static final class PendingEmail {
+        private final long id;
+        private final SimpleMailMessage message;
+        private final long enqueuedAt;
+        private final int attempt;
+
+        private PendingEmail(long id, SimpleMailMessage message, long enqueuedAt, int attempt) {
+            this.id = id;
+            this.message = message;
+            this.enqueuedAt = enqueuedAt;
+            this.attempt = attempt;
+        }
+    }
+}
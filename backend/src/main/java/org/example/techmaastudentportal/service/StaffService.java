@@ -1,7 +1,7 @@
 package org.example.techmaastudentportal.service;
 
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.example.techmaastudentportal.dto.StaffProfileResponseDTO;
 import org.example.techmaastudentportal.dto.StaffSignupReqDTO;
 import org.example.techmaastudentportal.dto.StaffSignupResponseDTO;
@@ -12,9 +12,10 @@ import org.example.techmaastudentportal.exception.EntityNotFoundException;
 import org.example.techmaastudentportal.exception.UnauthorizedAccessException;
 import org.example.techmaastudentportal.models.Course;
 import org.example.techmaastudentportal.models.Staff;
-import org.example.techmaastudentportal.models.User;
 import org.example.techmaastudentportal.repository.CourseRepository;
 import org.example.techmaastudentportal.repository.StaffRepository;
+import org.example.techmaastudentportal.security.UserPrincipal;
+import org.example.techmaastudentportal.security.UserRevocationRegistry;
 import org.example.techmaastudentportal.util.AuthenticatedUserUtil;
 import org.example.techmaastudentportal.util.ObjectDTOMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,12 +29,14 @@ public class StaffService {
     private final StaffRepository staffRepository;
     private final AuthenticatedUserUtil authenticatedUserUtil;
     private final CourseRepository courseRepository;
+    private final UserRevocationRegistry userRevocationRegistry;
 
-    public StaffService(StaffRepository staffRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil, CourseRepository courseRepository) {
+    public StaffService(StaffRepository staffRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil, CourseRepository courseRepository, UserRevocationRegistry userRevocationRegistry) {
         this.staffRepository = staffRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticatedUserUtil= authenticatedUserUtil;
         this.courseRepository = courseRepository;
+        this.userRevocationRegistry = userRevocationRegistry;
     }
 
     public StaffSignupResponseDTO registerStaff(StaffSignupReqDTO staffDTO){
@@ -46,37 +49,39 @@ public class StaffService {
         staff.setName(staffDTO.getName());
         staff.setPassword(passwordEncoder.encode(staffDTO.getPassword()));
         staff.setRole(UserRole.STAFF);
-        Course course = courseRepository.findByIdAndIsDeletedFalse(staffDTO.getCourseId()).orElseThrow(()-> new EntityNotFoundException("Given course Id does not exist."));
+        Course course = courseRepository.findSummaryById(staffDTO.getCourseId()).filter(c -> !c.isDeleted()).map(ObjectDTOMapper::toCourse).orElseThrow(()-> new EntityNotFoundException("Given course Id does not exist."));
         staff.setCourse(course);
         staff.setGender(staffDTO.getGender());
         staff.setAge(staffDTO.getAge());
         staff.setStaffRole(staffDTO.getStaffRole());
         staff.setAddress(staffDTO.getAddress());
         staff.setDepartment(staffDTO.getDepartment());
-        staffRepository.saveAndFlush(staff);
-        String staffId= String.format("STAFF%06d", staff.getId());
-        staff.setStaffId(staffId);
-        staffRepository.save(staff);
+        staffRepository.saveAndFlush(staff); // staffId is derived from the pooled id when the insert runs, flush before reading it
         return ObjectDTOMapper.toSignupDto(staff);
 
     }
 
+    // read-write so it stays on the primary: a profile fetched right after an update must see it, a replica may lag
+    @Transactional
     public StaffProfileResponseDTO getProfile(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        if(user.getRole()!=UserRole.STAFF || user.isDeleted()){
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        if(principal.getRole()!=UserRole.STAFF){
             throw new UnauthorizedAccessException("You are unauthorized to access this page");
         }
-        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(user.getId());
+        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalStaff.isEmpty()) {
             throw new EntityNotFoundException("Staff entity does not exist.");
         }
-        return ObjectDTOMapper.toStaffProfileResponseDTO(optionalStaff.get());
+        Staff staff = optionalStaff.get();
+        StaffProfileResponseDTO responseDTO = ObjectDTOMapper.toStaffProfileResponseDTO(staff);
+        responseDTO.setEtag(ProfileVersionCache.eTagOf(staff, staff.getCourse()));
+        return responseDTO;
     }
 
     @Transactional
     public StaffProfileResponseDTO updateStaff(StaffUpdateReqDTO staffDTO){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalStaff.isEmpty()){
             throw new UnauthorizedAccessException("Unauthorized to access.");
         }
@@ -100,7 +105,7 @@ public class StaffService {
             staff.setPassword(passwordEncoder.encode(staffDTO.getPassword()));
         }
         if(staffDTO.getCourseId()!=null){
-            Course course = courseRepository.findById(staffDTO.getCourseId()).orElseThrow(()->new EntityNotFoundException("Course Id does not exist."));
+            Course course = courseRepository.findSummaryById(staffDTO.getCourseId()).map(ObjectDTOMapper::toCourse).orElseThrow(()->new EntityNotFoundException("Course Id does not exist."));
             staff.setCourse(course);
         }
         if(staffDTO.getStaffRole()!=null){
@@ -113,14 +118,15 @@ public class StaffService {
 
     @Transactional
     public void deleteStaff(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Staff> optionalStaff = staffRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalStaff.isEmpty()){
             throw new EntityNotFoundException("Entity with given id. does not exist.");
         }
         Staff staff = optionalStaff.get();
         staff.setDeleted(true);
         staffRepository.save(staff);
+        userRevocationRegistry.revokeAfterCommit(staff.getId());
     }
 
 }
@@ -0,0 +1,211 @@
+package org.example.techmaastudentportal.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.techmaastudentportal.dto.BulkStudentRegistrationResponseDTO;
+import org.example.techmaastudentportal.dto.BulkStudentRowResultDTO;
+import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.example.techmaastudentportal.models.Course;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.CourseRepository;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.repository.UserRepository;
+import org.example.techmaastudentportal.security.BoundedPasswordEncoder;
+import org.example.techmaastudentportal.util.ObjectDTOMapper;
+import org.example.techmaastudentportal.util.StudentImport;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// registers many students at once: set-based checks and one batched insert per chunk
+@Service
+public class StudentBulkService {
+    private static final int MAX_ROWS = 10_000;
+    private static final int CHUNK_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StudentBulkService(UserRepository userRepository, StudentRepository studentRepository, CourseRepository courseRepository,
+                              BoundedPasswordEncoder passwordEncoder, Validator validator, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public BulkStudentRegistrationResponseDTO registerStudents(List<StudentSignupReqDTO> students){
+        return registerStudents(students, Map.of());
+    }
+
+    // an uploaded file, rows whose cells did not parse fail with the parse error
+    public BulkStudentRegistrationResponseDTO registerStudents(StudentImport studentImport){
+        return registerStudents(studentImport.getStudents(), studentImport.getErrors());
+    }
+
+    private BulkStudentRegistrationResponseDTO registerStudents(List<StudentSignupReqDTO> students, Map<Integer, String> parseErrors){
+        if(students==null || students.isEmpty()){
+            throw new BadRequestException("No students to register.");
+        }
+        if(students.size() > MAX_ROWS){
+            throw new BadRequestException("A bulk registration is limited to " + MAX_ROWS + " students.");
+        }
+        List<BulkStudentRowResultDTO> results = new ArrayList<>(students.size());
+        for(int from = 0; from < students.size(); from += CHUNK_SIZE){ // each chunk commits on its own
+            List<StudentSignupReqDTO> chunk = students.subList(from, Math.min(from + CHUNK_SIZE, students.size()));
+            results.addAll(registerChunk(chunk, from + 1, parseErrors));
+        }
+
+        BulkStudentRegistrationResponseDTO responseDTO = new BulkStudentRegistrationResponseDTO();
+        responseDTO.setTotal(results.size());
+        responseDTO.setCreated((int) results.stream().filter(r -> "CREATED".equals(r.getStatus())).count());
+        responseDTO.setFailed(responseDTO.getTotal() - responseDTO.getCreated());
+        responseDTO.setResults(results);
+        return responseDTO;
+    }
+
+    private List<BulkStudentRowResultDTO> registerChunk(List<StudentSignupReqDTO> chunk, int firstRow, Map<Integer, String> parseErrors){
+        List<BulkStudentRowResultDTO> results = new ArrayList<>(chunk.size());
+        for(int i = 0; i < chunk.size(); i++){
+            BulkStudentRowResultDTO result = new BulkStudentRowResultDTO();
+            result.setRow(firstRow + i);
+            result.setEmail(blankToNull(chunk.get(i).getEmail()));
+            result.setPhone(blankToNull(chunk.get(i).getPhone()));
+            String parseError = parseErrors.get(firstRow - 1 + i);
+            result.setMessage(parseError!=null ? parseError : validate(chunk.get(i)));
+            results.add(result);
+        }
+
+        // uniqueness against every user (the unique keys span all roles) in one query per column
+        Set<String> emails = pending(results).map(BulkStudentRowResultDTO::getEmail).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> phones = pending(results).map(BulkStudentRowResultDTO::getPhone).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<String> takenEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+        Set<String> takenPhones = phones.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingPhones(phones));
+        Set<Long> courseIds = new HashSet<>();
+        for(int i = 0; i < chunk.size(); i++){
+            BulkStudentRowResultDTO result = results.get(i);
+            if(result.getMessage()!=null){
+                continue;
+            }
+            // add() also catches the same contact appearing twice in the upload
+            if((result.getEmail()!=null && !takenEmails.add(result.getEmail())) || (result.getPhone()!=null && !takenPhones.add(result.getPhone()))){
+                result.setMessage("Student with given email or phone already exists.");
+            }
+            else if(chunk.get(i).getCourseId()!=null){
+                courseIds.add(chunk.get(i).getCourseId());
+            }
+        }
+        Map<Long, Course> courses = courseRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+
+        List<Integer> toInsert = new ArrayList<>();
+        for(int i = 0; i < chunk.size(); i++){
+            BulkStudentRowResultDTO result = results.get(i);
+            if(result.getMessage()==null && chunk.get(i).getCourseId()!=null && !courses.containsKey(chunk.get(i).getCourseId())){
+                result.setMessage("Course with given Id not found");
+            }
+            if(result.getMessage()==null){
+                toInsert.add(i);
+            }
+            else{
+                result.setStatus("FAILED");
+            }
+        }
+        if(toInsert.isEmpty()){
+            return results;
+        }
+
+        // bcrypt dominates the cost of a registration, hash the chunk on the bounded bcrypt pool
+        List<String> passwords = passwordEncoder.encodeAll(toInsert.stream().map(i -> chunk.get(i).getPassword()).toList());
+        try {
+            List<Student> students = new ArrayList<>(toInsert.size());
+            for(int n = 0; n < toInsert.size(); n++){
+                students.add(toStudent(chunk.get(toInsert.get(n)), passwords.get(n), courses));
+            }
+            insert(students);
+            for(int n = 0; n < toInsert.size(); n++){
+                created(results.get(toInsert.get(n)), students.get(n));
+            }
+        }
+        catch(DataIntegrityViolationException e){
+            // a concurrent signup took an email or phone after our check and the chunk rolled back, retry row by row
+            for(int n = 0; n < toInsert.size(); n++){
+                BulkStudentRowResultDTO result = results.get(toInsert.get(n));
+                Student student = toStudent(chunk.get(toInsert.get(n)), passwords.get(n), courses);
+                try {
+                    insert(List.of(student));
+                    created(result, student);
+                }
+                catch(DataIntegrityViolationException rowException){
+                    result.setStatus("FAILED");
+                    result.setMessage("Student with given email or phone already exists.");
+                }
+            }
+        }
+        return results;
+    }
+
+    // ids come from the pooled sequence, so hibernate sends the chunk as JDBC batches with roll numbers already set.
+    // flushed through the repository so a unique key violation surfaces as DataIntegrityViolationException
+    private void insert(List<Student> students){
+        transactionTemplate.executeWithoutResult(status -> {
+            studentRepository.saveAllAndFlush(students);
+            students.forEach(student -> eventPublisher.publishEvent(StudentChangedEvent.created(student.getId(), ObjectDTOMapper.toStudentResponseDTO(student))));
+            entityManager.clear();
+        });
+    }
+
+    private static Student toStudent(StudentSignupReqDTO studentDTO, String password, Map<Long, Course> courses){
+        Student student = ObjectDTOMapper.toStudent(studentDTO);
+        student.setEmail(blankToNull(student.getEmail()));
+        student.setPhone(blankToNull(student.getPhone()));
+        student.setPassword(password);
+        student.setCourse(studentDTO.getCourseId()!=null ? courses.get(studentDTO.getCourseId()) : null);
+        return student;
+    }
+
+    private static void created(BulkStudentRowResultDTO result, Student student){
+        result.setStatus("CREATED");
+        result.setRollNo(student.getRollNo());
+    }
+
+    private String validate(StudentSignupReqDTO student){
+        Set<ConstraintViolation<StudentSignupReqDTO>> violations = validator.validate(student);
+        if(!violations.isEmpty()){
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if(blankToNull(student.getEmail())==null && blankToNull(student.getPhone())==null){
+            return "Email and Phone fields both cannot be blank";
+        }
+        return null;
+    }
+
+    private static Stream<BulkStudentRowResultDTO> pending(List<BulkStudentRowResultDTO> results){
+        return results.stream().filter(r -> r.getMessage()==null);
+    }
+
+    private static String blankToNull(String value){
+        return value==null || value.isBlank() ? null : value;
+    }
+}
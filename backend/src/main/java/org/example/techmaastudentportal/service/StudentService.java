@@ -1,22 +1,26 @@
 package org.example.techmaastudentportal.service;
 
 
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import org.example.techmaastudentportal.dto.StudentProfileResponseDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
 import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
 import org.example.techmaastudentportal.dto.StudentSignupResponseDTO;
 import org.example.techmaastudentportal.dto.StudentUpdateReqDTO;
 import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
 import org.example.techmaastudentportal.exception.EntityAlreadyExistException;
 import org.example.techmaastudentportal.exception.EntityNotFoundException;
 import org.example.techmaastudentportal.exception.UnauthorizedAccessException;
 import org.example.techmaastudentportal.models.Course;
 import org.example.techmaastudentportal.models.Student;
-import org.example.techmaastudentportal.models.User;
 import org.example.techmaastudentportal.repository.CourseRepository;
 import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.security.UserPrincipal;
+import org.example.techmaastudentportal.security.UserRevocationRegistry;
 import org.example.techmaastudentportal.util.AuthenticatedUserUtil;
 import org.example.techmaastudentportal.util.ObjectDTOMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -29,81 +33,76 @@ public class StudentService {
     private final CourseRepository courseRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticatedUserUtil authenticatedUserUtil;
+    private final UserRevocationRegistry userRevocationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil) {
+    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository, PasswordEncoder passwordEncoder, AuthenticatedUserUtil authenticatedUserUtil, UserRevocationRegistry userRevocationRegistry, ApplicationEventPublisher eventPublisher) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticatedUserUtil = authenticatedUserUtil;
+        this.userRevocationRegistry = userRevocationRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public StudentSignupResponseDTO signUp(StudentSignupReqDTO studentDTO){
         throwEntityAlreadyExistCheck(studentDTO);
-        Student student = new Student();
-        student.setEmail(studentDTO.getEmail());
-        student.setPhone(studentDTO.getPhone());
-        student.setName(studentDTO.getName());
+        Student student = ObjectDTOMapper.toStudent(studentDTO);
         student.setPassword(passwordEncoder.encode(studentDTO.getPassword()));
-        student.setRole(UserRole.STUDENT);
 
         if(studentDTO.getCourseId()!=null){
-            Course course = courseRepository.findById(studentDTO.getCourseId()).orElseThrow(()-> new EntityNotFoundException("Course with given Id not found"));
+            Course course = courseRepository.findSummaryById(studentDTO.getCourseId()).map(ObjectDTOMapper::toCourse).orElseThrow(()-> new EntityNotFoundException("Course with given Id not found"));
             student.setCourse(course);
         }
-        student.setDepartment(studentDTO.getDepartment());
-        student.setAddress(studentDTO.getAddress());
-        student.setAge(studentDTO.getAge());
-        student.setGender(studentDTO.getGender());
-        student.setAcademicYear(studentDTO.getAcademicYear());
-        student.setSemester(studentDTO.getSemester());
-        studentRepository.saveAndFlush(student);
-
-        String rollNo = String.format("STU%06d", student.getId());
-        student.setRollNo(rollNo);
-        studentRepository.save(student);
+        studentRepository.saveAndFlush(student); // rollNo is derived from the pooled id when the insert runs, flush before reading it
+        eventPublisher.publishEvent(StudentChangedEvent.created(student.getId(), ObjectDTOMapper.toStudentResponseDTO(student)));
        return ObjectDTOMapper.toSignupDto(student);
     }
 
+    // read-write so it stays on the primary: a profile fetched right after an update must see it, a replica may lag
+    @Transactional
     public StudentProfileResponseDTO getProfile(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Student> optionalStudent = studentRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Student> optionalStudent = studentRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalStudent.isEmpty()){
             throw new EntityNotFoundException("Student not found.");
         }
         Student student = optionalStudent.get();
-       return ObjectDTOMapper.toStudentProfileResponseDTO(student);
+        StudentProfileResponseDTO responseDTO = ObjectDTOMapper.toStudentProfileResponseDTO(student);
+        responseDTO.setEtag(ProfileVersionCache.eTagOf(student, student.getCourse()));
+        return responseDTO;
     }
 
     @Transactional
     public void deleteStudent(){
-        User user = authenticatedUserUtil.getCurrentUser();
-        Optional<Student> optionalStudent = studentRepository.findByIdAndIsDeletedFalse(user.getId());
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        Optional<Student> optionalStudent = studentRepository.findByIdAndIsDeletedFalse(principal.getId());
         if(optionalStudent.isEmpty()){
             throw new EntityNotFoundException("Entity with given id. does not exist.");
         }
         Student student = optionalStudent.get();
         student.setDeleted(true);
         studentRepository.save(student);
+        userRevocationRegistry.revokeAfterCommit(student.getId());
+        eventPublisher.publishEvent(StudentChangedEvent.deleted(student.getId(), ObjectDTOMapper.toStudentResponseDTO(student)));
     }
 
 
     @Transactional
     public StudentProfileResponseDTO updateStudent(StudentUpdateReqDTO studentDTO){
-        User user = authenticatedUserUtil.getCurrentUser();
-        if(!user.getRole().equals(UserRole.STUDENT)) {
+        UserPrincipal principal = authenticatedUserUtil.getCurrentPrincipal();
+        if(principal.getRole()!=UserRole.STUDENT) {
             throw new UnauthorizedAccessException("You are unauthorized to access this page");
         }
-        if(user.isDeleted()){
-            throw new EntityNotFoundException("Student entity does not exist.");
-        }
-        Student student = studentRepository.findByIdAndIsDeletedFalse(user.getId()).orElseThrow(()-> new EntityNotFoundException("Student entity does not exist."));
+        Student student = studentRepository.findByIdAndIsDeletedFalse(principal.getId()).orElseThrow(()-> new EntityNotFoundException("Student entity does not exist."));
+        StudentResponseDTO before = ObjectDTOMapper.toStudentResponseDTO(student);
         //add updates
         if(studentDTO.getName()!=null && !studentDTO.getName().isBlank()){
             student.setName(studentDTO.getName());
         }
         if(studentDTO.getCourseId()!=null){
-            Course course= courseRepository.findById(studentDTO.getCourseId()).orElseThrow(()-> new EntityNotFoundException("No Course found with given Id"));
+            Course course= courseRepository.findSummaryById(studentDTO.getCourseId()).map(ObjectDTOMapper::toCourse).orElseThrow(()-> new EntityNotFoundException("No Course found with given Id"));
             student.setCourse(course);
         }
         if(studentDTO.getDepartment()!=null){
@@ -125,6 +124,7 @@ public class StudentService {
             student.setSemester(studentDTO.getSemester());
         }
         studentRepository.save(student);
+        eventPublisher.publishEvent(StudentChangedEvent.updated(student.getId(), before, ObjectDTOMapper.toStudentResponseDTO(student)));
         return ObjectDTOMapper.toStudentProfileResponseDTO(student);
     }
 
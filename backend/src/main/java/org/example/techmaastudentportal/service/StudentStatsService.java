@@ -0,0 +1,160 @@
+package org.example.techmaastudentportal.service;
+
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.dto.StudentStatsResponseDTO;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// active student counts for the admin dashboard. each dimension is loaded with one GROUP BY on first use,
+// then kept current from StudentChangedEvent deltas and reloaded after stats.refresh-interval to correct drift.
+// a load runs outside any map lock: deltas arriving while its query runs are collected on the new counters and
+// end up on top of the loaded counts, and readers keep the previous counters until the new ones are complete.
+@Service
+public class StudentStatsService {
+    public static final String DEPARTMENT = "department";
+    public static final String GENDER = "gender";
+    public static final String COURSE = "course";
+    public static final String ACADEMIC_YEAR = "academicYear";
+    private static final String UNASSIGNED = "UNASSIGNED";
+
+    private final Map<String, Supplier<List<Object[]>>> groupByQueries;
+    private final Map<String, Function<StudentResponseDTO, Object>> eventKeys = Map.of(
+            DEPARTMENT, StudentResponseDTO::getDepartment,
+            GENDER, StudentResponseDTO::getGender,
+            COURSE, StudentResponseDTO::getCourseTitle,
+            ACADEMIC_YEAR, StudentResponseDTO::getAcademicYear
+    );
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<String, Counters> loading = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> loadLocks;
+    private final long refreshIntervalNanos;
+
+    public StudentStatsService(StudentRepository studentRepository,
+                               @Value("${stats.refresh-interval:PT15M}") Duration refreshInterval) {
+        this.groupByQueries = Map.of(
+                DEPARTMENT, studentRepository::countActiveByDepartment,
+                GENDER, studentRepository::countActiveByGender,
+                COURSE, studentRepository::countActiveByCourse,
+                ACADEMIC_YEAR, studentRepository::countActiveByAcademicYear
+        );
+        this.loadLocks = Map.of(
+                DEPARTMENT, new ReentrantLock(),
+                GENDER, new ReentrantLock(),
+                COURSE, new ReentrantLock(),
+                ACADEMIC_YEAR, new ReentrantLock()
+        );
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public StudentStatsResponseDTO getStats() {
+        StudentStatsResponseDTO responseDTO = new StudentStatsResponseDTO();
+        responseDTO.setByDepartment(getStats(DEPARTMENT));
+        responseDTO.setByGender(getStats(GENDER));
+        responseDTO.setByCourse(getStats(COURSE));
+        responseDTO.setByAcademicYear(getStats(ACADEMIC_YEAR));
+        // every active student falls in exactly one department bucket (UNASSIGNED included)
+        responseDTO.setTotal(responseDTO.getByDepartment().values().stream().mapToLong(Long::longValue).sum());
+        return responseDTO;
+    }
+
+    public Map<String, Long> getStats(String dimension) {
+        if (!groupByQueries.containsKey(dimension)) {
+            throw new BadRequestException("Stats are available by " + groupByQueries.keySet());
+        }
+        Counters current = counters.get(dimension);
+        if (current == null || System.nanoTime() - current.loadedAt > refreshIntervalNanos) {
+            current = reload(dimension, current);
+        }
+        Map<String, Long> snapshot = new TreeMap<>();
+        current.counts.forEach((bucket, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                snapshot.put(bucket, value);
+            }
+        });
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        eventKeys.forEach((dimension, keyOf) -> {
+            Counters current = counters.get(dimension);
+            Counters next = loading.get(dimension);
+            apply(current, keyOf, event);
+            if (next != current) {
+                apply(next, keyOf, event);
+            }
+        });
+    }
+
+    // one loader per dimension. callers that already have counters keep using them instead of waiting for it
+    private Counters reload(String dimension, Counters stale) {
+        ReentrantLock lock = loadLocks.get(dimension);
+        if (stale == null) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return stale;
+        }
+        try {
+            Counters current = counters.get(dimension);
+            if (current != null && current != stale) {
+                return current; // loaded by another caller while we waited
+            }
+            Counters next = new Counters(System.nanoTime());
+            loading.put(dimension, next); // deltas from here on are applied to next as well
+            try {
+                for (Object[] row : groupByQueries.get(dimension).get()) {
+                    next.counts.computeIfAbsent(bucket(row[0]), k -> new LongAdder()).add(((Number) row[1]).longValue());
+                }
+                counters.put(dimension, next);
+            } finally {
+                loading.remove(dimension);
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void apply(Counters target, Function<StudentResponseDTO, Object> keyOf, StudentChangedEvent event) {
+        if (target == null) {
+            return;
+        }
+        if (event.getBefore() != null) {
+            target.counts.computeIfAbsent(bucket(keyOf.apply(event.getBefore())), k -> new LongAdder()).decrement();
+        }
+        if (event.getAfter() != null) {
+            target.counts.computeIfAbsent(bucket(keyOf.apply(event.getAfter())), k -> new LongAdder()).increment();
+        }
+    }
+
+    private static String bucket(Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return UNASSIGNED;
+        }
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+
+    private static class Counters {
+        private final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+        private final long loadedAt;
+
+        Counters(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
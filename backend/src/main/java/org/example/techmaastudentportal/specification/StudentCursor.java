@@ -0,0 +1,13 @@
+package org.example.techmaastudentportal.specification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StudentCursor { // position of the last row returned by a keyset page
+    private String sortBy;
+    private String sortDir;
+    private String sortValue; // null when the last row had no value for sortBy
+    private Long id;
+}
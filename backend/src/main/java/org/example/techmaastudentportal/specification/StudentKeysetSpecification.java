@@ -0,0 +1,70 @@
+package org.example.techmaastudentportal.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.example.techmaastudentportal.models.Student;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+// seeks past the (sortBy, id) position of a cursor instead of skipping rows with OFFSET
+public class StudentKeysetSpecification implements Specification<Student> {
+
+    private final StudentCursor cursor;
+
+    public StudentKeysetSpecification(StudentCursor cursor){
+        this.cursor= cursor;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toPredicate(Root<Student> root, CriteriaQuery<?> query, CriteriaBuilder cb){
+        boolean descending = "desc".equalsIgnoreCase(cursor.getSortDir());
+        Path<Long> idPath = root.get("id");
+        Predicate afterId = descending
+                ? cb.lessThan(idPath, cursor.getId())
+                : cb.greaterThan(idPath, cursor.getId());
+        if("id".equals(cursor.getSortBy())){
+            return afterId;
+        }
+        Path sortPath = root.get(cursor.getSortBy());
+        // nulls follow the database's native order (MySQL/MariaDB): first when ascending, last when descending
+        if(cursor.getSortValue()==null){
+            Predicate nullAfterId = cb.and(cb.isNull(sortPath), afterId);
+            return descending ? nullAfterId : cb.or(nullAfterId, cb.isNotNull(sortPath));
+        }
+        Comparable value = toSortValue(sortPath.getJavaType(), cursor.getSortValue());
+        Predicate afterValue = descending
+                ? cb.lessThan(sortPath, value)
+                : cb.greaterThan(sortPath, value);
+        // rows sharing the cursor's sort value are ordered by id
+        Predicate after = cb.or(afterValue, cb.and(cb.equal(sortPath, value), afterId));
+        return descending ? cb.or(after, cb.isNull(sortPath)) : after;
+    }
+
+    private Comparable<?> toSortValue(Class<?> type, String value){
+        try {
+            if (LocalDateTime.class.equals(type)) {
+                return LocalDateTime.parse(value);
+            }
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            if (Integer.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            return value;
+        }
+        catch(NumberFormatException | DateTimeParseException e){
+            throw new BadRequestException("Invalid cursor value.");
+        }
+    }
+}
@@ -2,6 +2,9 @@ package org.example.techmaastudentportal.specification;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
@@ -9,24 +12,44 @@ import org.example.techmaastudentportal.enums.Department;
 import org.example.techmaastudentportal.enums.Gender;
 import org.example.techmaastudentportal.exception.BadRequestException;
 import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.search.KeywordCandidates;
+import org.example.techmaastudentportal.search.StudentSearchIndex;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class StudentSpecification implements Specification<Student> {
 
     private final StudentFilterReqDTO filterDTO;
+    // StudentSearchIndex candidates for the keyword, null when the index could not narrow it down
+    private final KeywordCandidates keywordCandidates;
 
     public StudentSpecification(StudentFilterReqDTO filterDTO){
+        this(filterDTO, null);
+    }
+
+    public StudentSpecification(StudentFilterReqDTO filterDTO, KeywordCandidates keywordCandidates){
         this.filterDTO= filterDTO;
+        this.keywordCandidates = keywordCandidates;
     }
 
 
 public Predicate toPredicate(Root<Student> root, CriteriaQuery<?> query, CriteriaBuilder cb){
    List<Predicate> predicates = new ArrayList<>();
         if(filterDTO.getKeyword()!=null && !filterDTO.getKeyword().isBlank()) {
-            String pattern = "%" + filterDTO.getKeyword().toLowerCase() + "%";
+            // a leading-wildcard LIKE can't use a B-tree index, so the candidates from StudentSearchIndex drive the
+            // lookup (primary key plus idx_users_type_updated) and the LIKE is only a residual filter on those rows.
+            // without candidates (keyword under three characters) the keyword search scans the students
+            if(keywordCandidates!=null) {
+                // index hits plus rows changed after the index last caught up, the LIKE below re-checks both
+                Predicate recentlyChanged = cb.greaterThanOrEqualTo(root.get("updatedAt"), keywordCandidates.getChangedSince());
+                predicates.add(keywordCandidates.getIds().isEmpty()
+                        ? recentlyChanged
+                        : cb.or(root.get("id").in(keywordCandidates.getIds()), recentlyChanged));
+            }
+            String pattern = "%" + StudentSearchIndex.normalize(filterDTO.getKeyword()) + "%";
             predicates.add(
                     cb.or(
                             cb.like(cb.lower(root.get("name")),pattern),
@@ -35,24 +58,23 @@ public Predicate toPredicate(Root<Student> root, CriteriaQuery<?> query, Criteri
             );
         }
 
+        // email, name and course title match in any case through their indexed lower-case generated columns,
+        // lower() on the column itself could not use an index
         if(filterDTO.getEmail()!=null && !filterDTO.getEmail().isBlank()) {
-            String toSearch= filterDTO.getEmail().toLowerCase();
-          predicates.add(cb.equal(cb.lower(root.get("email")),toSearch));
+            predicates.add(cb.equal(root.get("emailLower"),lowerCase(filterDTO.getEmail())));
         }
         if(filterDTO.getPhone()!=null && !filterDTO.getPhone().isBlank()){
             predicates.add(cb.equal(root.get("phone"),filterDTO.getPhone()));
         }
         if(filterDTO.getName()!=null && !filterDTO.getName().isBlank()) {
-            String toSearch= filterDTO.getName().toLowerCase();
-            predicates.add(cb.equal(cb.lower(root.get("name")),toSearch));
+            predicates.add(cb.equal(root.get("nameLower"),lowerCase(filterDTO.getName())));
         }
         if(filterDTO.getCourseName()!=null && !filterDTO.getCourseName().isBlank()) {
-            String toSearch= filterDTO.getCourseName().toLowerCase();
-            predicates.add(cb.equal(cb.lower(root.get("course").get("title")),toSearch));
+            predicates.add(cb.equal(courseJoin(root).get("titleLower"),lowerCase(filterDTO.getCourseName())));
         }
         if(filterDTO.getDepartment()!=null && !filterDTO.getDepartment().isBlank()) {
             try{
-            Department toSearch= Department.valueOf(filterDTO.getDepartment().toUpperCase());
+            Department toSearch= Department.valueOf(filterDTO.getDepartment().toUpperCase(Locale.ROOT));
             predicates.add(cb.equal(root.get("department"),toSearch));
             }
         catch(IllegalArgumentException e){
@@ -61,7 +83,7 @@ public Predicate toPredicate(Root<Student> root, CriteriaQuery<?> query, Criteri
         }
         if(filterDTO.getGender()!=null && !filterDTO.getGender().isBlank()){
             try{
-                Gender toSearch = Gender.valueOf(filterDTO.getGender().toUpperCase());
+                Gender toSearch = Gender.valueOf(filterDTO.getGender().toUpperCase(Locale.ROOT));
                 predicates.add(cb.equal(root.get("gender"),toSearch));
             }
             catch(BadRequestException e){
@@ -81,4 +103,24 @@ public Predicate toPredicate(Root<Student> root, CriteriaQuery<?> query, Criteri
     return cb.and(predicates.toArray(new Predicate[0]));
 }
 
+    // the course join (or fetch) the query already has, StudentRepositoryImpl adds a LEFT one for the course title.
+    // root.get("course").get("title") would join course a second time
+    private static From<?, ?> courseJoin(Root<Student> root){
+        for(Join<Student, ?> join : root.getJoins()){
+            if("course".equals(join.getAttribute().getName())){
+                return join;
+            }
+        }
+        for(Fetch<Student, ?> fetch : root.getFetches()){
+            if("course".equals(fetch.getAttribute().getName()) && fetch instanceof Join<?, ?> join){
+                return join;
+            }
+        }
+        return root.join("course");
+    }
+
+    private static String lowerCase(String value){
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
 }
@@ -2,36 +2,20 @@ package org.example.techmaastudentportal.util;
 
 
 import org.example.techmaastudentportal.exception.EntityNotFoundException;
-import org.example.techmaastudentportal.exception.UnauthorizedAccessException;
-import org.example.techmaastudentportal.models.User;
-import org.example.techmaastudentportal.repository.UserRepository;
+import org.example.techmaastudentportal.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component
-public class AuthenticatedUserUtil { //extracts user from the security context
+public class AuthenticatedUserUtil { //extracts the principal built from the JWT claims, no users-table lookup
 
-    private final UserRepository userRepository;
-
-    public AuthenticatedUserUtil(UserRepository userRepository) {
-        this.userRepository = userRepository;
-    }
-
-    public User getCurrentUser(){
+    public UserPrincipal getCurrentPrincipal(){
         Authentication auth= SecurityContextHolder.getContext().getAuthentication();
 
-        if(auth==null || !auth.isAuthenticated() || auth.getName()==null) {
+        if(auth==null || !auth.isAuthenticated() || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
             throw new EntityNotFoundException("Authentication failed or token expired. Please login again.");
         }
-        Long userId;
-        try{
-            userId= Long.valueOf(auth.getName());
-        }
-        catch(NumberFormatException e){
-            throw new UnauthorizedAccessException("Invalid authentication token.");
-        }
-        return userRepository.findByIdAndIsDeletedFalse(userId).orElseThrow(()-> new EntityNotFoundException("User account no longer exist."));
-        }
+        return principal;
     }
-
+}
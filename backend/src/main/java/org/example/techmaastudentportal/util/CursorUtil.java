@@ -0,0 +1,32 @@
+package org.example.techmaastudentportal.util;
+
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.example.techmaastudentportal.specification.StudentCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class CursorUtil { // opaque next-page tokens for keyset pagination
+    private static final String SEPARATOR = "\n";
+
+    // a null sort value leaves the last part out entirely, an empty string still gets its separator
+    public static String encode(StudentCursor cursor){
+        String raw = cursor.getSortBy() + SEPARATOR + cursor.getSortDir() + SEPARATOR + cursor.getId()
+                + (cursor.getSortValue()==null ? "" : SEPARATOR + cursor.getSortValue());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token){
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4); // sort value goes last as it may contain anything
+            if (parts.length < 3) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            return new StudentCursor(parts[0], parts[1], parts.length == 4 ? parts[3] : null, Long.valueOf(parts[2]));
+        }
+        catch(IllegalArgumentException e){ // bad base64 or id
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
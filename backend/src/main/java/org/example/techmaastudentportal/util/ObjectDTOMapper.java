@@ -1,19 +1,52 @@
 package org.example.techmaastudentportal.util;
 
 
+import jakarta.persistence.Tuple;
 import org.example.techmaastudentportal.dto.*;
+import org.example.techmaastudentportal.enums.Department;
+import org.example.techmaastudentportal.enums.Gender;
+import org.example.techmaastudentportal.enums.UserRole;
 import org.example.techmaastudentportal.models.Admin;
+import org.example.techmaastudentportal.models.Course;
 import org.example.techmaastudentportal.models.Staff;
 import org.example.techmaastudentportal.models.Student;
 import org.example.techmaastudentportal.models.User;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class ObjectDTOMapper {
 
+    // a fresh detached course per caller, enough to reference it from a user and to show its title
+    public static Course toCourse(CourseSummary summary){
+        Course course = new Course();
+        course.setId(summary.getId());
+        course.setTitle(summary.getTitle());
+        course.setVersion(summary.getVersion());
+        course.setDeleted(summary.isDeleted());
+        return course;
+    }
+
+    // everything except the password hash and course, which need a service to resolve
+    public static Student toStudent(StudentSignupReqDTO studentDTO){
+        Student student = new Student();
+        student.setEmail(studentDTO.getEmail());
+        student.setPhone(studentDTO.getPhone());
+        student.setName(studentDTO.getName());
+        student.setRole(UserRole.STUDENT);
+        student.setDepartment(studentDTO.getDepartment());
+        student.setAddress(studentDTO.getAddress());
+        student.setAge(studentDTO.getAge());
+        student.setGender(studentDTO.getGender());
+        student.setAcademicYear(studentDTO.getAcademicYear());
+        student.setSemester(studentDTO.getSemester());
+        return student;
+    }
+
     public static StudentSignupResponseDTO toSignupDto(Student student){
         StudentSignupResponseDTO  responseDTO= new  StudentSignupResponseDTO();
         responseDTO.setEmail(student.getEmail());
@@ -71,11 +104,32 @@ public class ObjectDTOMapper {
         responseDTO.setGender(student.getGender());
         responseDTO.setAcademicYear(student.getAcademicYear());
         responseDTO.setSemester(student.getSemester());
+        responseDTO.setMarks(student.getMarks());
 
         return responseDTO;
 
     }
 
+    // row from StudentRepositoryImpl's projection query
+    public static StudentResponseDTO toStudentResponseDTO(Tuple tuple){
+        StudentResponseDTO responseDTO= new StudentResponseDTO();
+        responseDTO.setEmail(tuple.get("email", String.class));
+        responseDTO.setPhone(tuple.get("phone", String.class));
+        responseDTO.setName(tuple.get("name", String.class));
+        responseDTO.setRole(tuple.get("role", UserRole.class));
+        responseDTO.setRollNo(tuple.get("rollNo", String.class));
+        String courseTitle = tuple.get("courseTitle", String.class);
+        responseDTO.setCourseTitle(courseTitle!=null ? courseTitle : "");
+        responseDTO.setDepartment(tuple.get("department", Department.class));
+        responseDTO.setAddress(tuple.get("address", String.class));
+        responseDTO.setAge(tuple.get("age", Integer.class));
+        responseDTO.setGender(tuple.get("gender", Gender.class));
+        responseDTO.setAcademicYear(tuple.get("academicYear", Integer.class));
+        responseDTO.setSemester(tuple.get("semester", Integer.class));
+        responseDTO.setMarks(tuple.get("marks", Double.class));
+        return responseDTO;
+    }
+
     public static List<StudentResponseDTO> toStudentResponseDtoList(List<Student> students){
         List<StudentResponseDTO> responseDTOList = new ArrayList<>();
     for(Student s: students){
@@ -84,6 +138,80 @@ public class ObjectDTOMapper {
     return responseDTOList;
     }
 
+    // repeated enum names and course titles are written once per response in the dictionaries
+    public static StudentColumnarResponseDTO toStudentColumnarResponseDTO(List<StudentResponseDTO> students){
+        int size = students.size();
+        Map<String, Integer> roles = new LinkedHashMap<>();
+        Map<String, Integer> courseTitles = new LinkedHashMap<>();
+        Map<String, Integer> departments = new LinkedHashMap<>();
+        Map<String, Integer> genders = new LinkedHashMap<>();
+
+        List<String> email = new ArrayList<>(size);
+        List<String> phone = new ArrayList<>(size);
+        List<String> name = new ArrayList<>(size);
+        List<Integer> role = new ArrayList<>(size);
+        List<String> rollNo = new ArrayList<>(size);
+        List<Integer> courseTitle = new ArrayList<>(size);
+        List<Integer> department = new ArrayList<>(size);
+        List<String> address = new ArrayList<>(size);
+        List<Integer> age = new ArrayList<>(size);
+        List<Integer> gender = new ArrayList<>(size);
+        List<Integer> academicYear = new ArrayList<>(size);
+        List<Integer> semester = new ArrayList<>(size);
+        List<Double> marks = new ArrayList<>(size);
+        for(StudentResponseDTO student : students){
+            email.add(student.getEmail());
+            phone.add(student.getPhone());
+            name.add(student.getName());
+            role.add(dictionaryIndex(roles, student.getRole()!=null ? student.getRole().name() : null));
+            rollNo.add(student.getRollNo());
+            courseTitle.add(dictionaryIndex(courseTitles, student.getCourseTitle()));
+            department.add(dictionaryIndex(departments, student.getDepartment()!=null ? student.getDepartment().name() : null));
+            address.add(student.getAddress());
+            age.add(student.getAge());
+            gender.add(dictionaryIndex(genders, student.getGender()!=null ? student.getGender().name() : null));
+            academicYear.add(student.getAcademicYear());
+            semester.add(student.getSemester());
+            marks.add(student.getMarks());
+        }
+
+        Map<String, List<String>> dictionaries = new LinkedHashMap<>();
+        dictionaries.put("role", new ArrayList<>(roles.keySet()));
+        dictionaries.put("courseTitle", new ArrayList<>(courseTitles.keySet()));
+        dictionaries.put("department", new ArrayList<>(departments.keySet()));
+        dictionaries.put("gender", new ArrayList<>(genders.keySet()));
+
+        StudentColumnarResponseDTO responseDTO = new StudentColumnarResponseDTO();
+        responseDTO.setCount(size);
+        responseDTO.setDictionaries(dictionaries);
+        responseDTO.setEmail(email);
+        responseDTO.setPhone(phone);
+        responseDTO.setName(name);
+        responseDTO.setRole(role);
+        responseDTO.setRollNo(rollNo);
+        responseDTO.setCourseTitle(courseTitle);
+        responseDTO.setDepartment(department);
+        responseDTO.setAddress(address);
+        responseDTO.setAge(age);
+        responseDTO.setGender(gender);
+        responseDTO.setAcademicYear(academicYear);
+        responseDTO.setSemester(semester);
+        responseDTO.setMarks(marks);
+        return responseDTO;
+    }
+
+    private static Integer dictionaryIndex(Map<String, Integer> dictionary, String value){
+        if(value==null){
+            return null;
+        }
+        Integer index = dictionary.get(value);
+        if(index==null){
+            index = dictionary.size();
+            dictionary.put(value, index);
+        }
+        return index;
+    }
+
     public static UserLoginResponseDTO toUserLoginResponseDTO(User user){
         UserLoginResponseDTO responseDTO = new UserLoginResponseDTO();
         responseDTO.setEmail(user.getEmail());
@@ -92,6 +220,15 @@ public class ObjectDTOMapper {
         responseDTO.setRole(user.getRole());
         return responseDTO;
     }
+
+    public static UserLoginResponseDTO toUserLoginResponseDTO(UserLoginView user){
+        UserLoginResponseDTO responseDTO = new UserLoginResponseDTO();
+        responseDTO.setEmail(user.getEmail());
+        responseDTO.setPhone(user.getPhone());
+        responseDTO.setName(user.getName());
+        responseDTO.setRole(user.getRole());
+        return responseDTO;
+    }
     public static AdminProfileResponseDTO toAdminProfileResponseDTO(Admin admin){
         AdminProfileResponseDTO responseDTO = new AdminProfileResponseDTO();
         responseDTO.setEmail(admin.getEmail());
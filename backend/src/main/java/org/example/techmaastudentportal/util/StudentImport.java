@@ -0,0 +1,16 @@
+package org.example.techmaastudentportal.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
+
+import java.util.List;
+import java.util.Map;
+
+// a parsed upload: one entry per data row, rows whose cells did not parse keep the fields that did
+@Data
+@AllArgsConstructor
+public class StudentImport {
+    private List<StudentSignupReqDTO> students;
+    private Map<Integer, String> errors; // parse error by index into students
+}
@@ -0,0 +1,163 @@
+package org.example.techmaastudentportal.util;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
+import org.example.techmaastudentportal.enums.Department;
+import org.example.techmaastudentportal.enums.Gender;
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+public class StudentImportParser { // reads bulk student uploads, the first row holds the column names
+
+    public static StudentImport parse(MultipartFile file){
+        String filename = file.getOriginalFilename()!=null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        List<List<String>> rows;
+        try (InputStream in = file.getInputStream()) {
+            if (filename.endsWith(".xlsx")) {
+                rows = readXlsx(in);
+            } else if (filename.endsWith(".csv")) {
+                rows = readCsv(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } else {
+                throw new BadRequestException("Only .csv and .xlsx files are supported.");
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read uploaded file.");
+        }
+        if (rows.isEmpty()) {
+            throw new BadRequestException("Uploaded file is empty.");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = rows.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<StudentSignupReqDTO> students = new ArrayList<>(rows.size() - 1);
+        Map<Integer, String> errors = new HashMap<>();
+        for (int r = 1; r < rows.size(); r++) {
+            List<String> row = rows.get(r);
+            if (row.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            List<String> problems = new ArrayList<>();
+            students.add(toStudent(row, columns, problems));
+            if (!problems.isEmpty()) { // reported as this row's failure, the other rows are still imported
+                errors.put(students.size() - 1, String.join("; ", problems));
+            }
+        }
+        return new StudentImport(students, errors);
+    }
+
+    private static StudentSignupReqDTO toStudent(List<String> row, Map<String, Integer> columns, List<String> problems){
+        StudentSignupReqDTO student = new StudentSignupReqDTO();
+        student.setName(cell(row, columns, "name"));
+        student.setEmail(cell(row, columns, "email"));
+        student.setPhone(cell(row, columns, "phone"));
+        student.setPassword(cell(row, columns, "password"));
+        student.setAddress(cell(row, columns, "address"));
+        student.setCourseId(parsed(row, columns, "courseid", Long::valueOf, problems));
+        student.setDepartment(parsed(row, columns, "department", value -> Department.valueOf(value.toUpperCase(Locale.ROOT)), problems));
+        student.setGender(parsed(row, columns, "gender", value -> Gender.valueOf(value.toUpperCase(Locale.ROOT)), problems));
+        student.setAge(parsed(row, columns, "age", Integer::valueOf, problems));
+        student.setAcademicYear(parsed(row, columns, "academicyear", Integer::valueOf, problems));
+        student.setSemester(parsed(row, columns, "semester", Integer::valueOf, problems));
+        return student;
+    }
+
+    // null for a blank cell, and for one that does not parse, which is then added to problems
+    private static <T> T parsed(List<String> row, Map<String, Integer> columns, String column, Function<String, T> parser, List<String> problems){
+        String value = cell(row, columns, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            problems.add("Invalid " + column + " value: " + value);
+            return null;
+        }
+    }
+
+    private static String cell(List<String> row, Map<String, Integer> columns, String column){
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size() || row.get(index).isBlank()) {
+            return null;
+        }
+        return row.get(index).trim();
+    }
+
+    private static Integer toInteger(String value){
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private static List<List<String>> readXlsx(InputStream in) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        DataFormatter formatter = new DataFormatter(); // numeric cells as displayed, e.g. phone numbers without exponent
+        try (Workbook workbook = new XSSFWorkbook(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                List<String> values = new ArrayList<>();
+                for (int c = 0; c < row.getLastCellNum(); c++) {
+                    values.add(formatter.formatCellValue(row.getCell(c)));
+                }
+                rows.add(values);
+            }
+        }
+        return rows;
+    }
+
+    // RFC 4180 style: quoted fields may hold commas, newlines and doubled quotes
+    private static List<List<String>> readCsv(String content){
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < content.length() && content.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < content.length() && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else if (c != '\uFEFF') { // skip a UTF-8 BOM
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !row.isEmpty()) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
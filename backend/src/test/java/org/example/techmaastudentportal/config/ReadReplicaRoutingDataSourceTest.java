@@ -0,0 +1,93 @@
+package org.example.techmaastudentportal.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two databases in the shared embedded MariaDB stand in for primary and replica, each reports its own name. the app runs its
+// transactions through JpaTransactionManager, which begins the hibernate transaction before it marks the
+// synchronization read-only, so that path is checked as well as the plain JDBC one
+class ReadReplicaRoutingDataSourceTest {
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private static EntityManager entityManager;
+    private static TransactionTemplate jpaTransactionTemplate;
+
+    @BeforeAll
+    static void createDataSources() throws Exception {
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(
+                new DriverManagerDataSource(EmbeddedMariaDB.url("techmaa_primary"), "root", ""),
+                new DriverManagerDataSource(EmbeddedMariaDB.url("techmaa_replica"), "root", "")));
+        jdbcTemplate = new JdbcTemplate(routing);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(routing));
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(routing);
+        entityManagerFactoryBean.setManagedTypes(PersistenceManagedTypes.of(List.of(), List.of())); // native queries only
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryBean.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        jpaTransactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactory() {
+        entityManagerFactoryBean.destroy();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        transactionTemplate.setReadOnly(true);
+        assertThat(transactionTemplate.<String>execute(status -> currentDatabase())).isEqualTo("techmaa_replica");
+    }
+
+    @Test
+    void writeTransactionsAndPlainCallsUseThePrimary() {
+        transactionTemplate.setReadOnly(false);
+        assertThat(transactionTemplate.<String>execute(status -> currentDatabase())).isEqualTo("techmaa_primary");
+        assertThat(currentDatabase()).isEqualTo("techmaa_primary");
+    }
+
+    @Test
+    void readOnlyJpaTransactionsUseTheReplica() {
+        jpaTransactionTemplate.setReadOnly(true);
+        assertThat(jpaTransactionTemplate.<String>execute(status -> currentJpaDatabase())).isEqualTo("techmaa_replica");
+        // JdbcTemplate work inside the jpa transaction shares its connection
+        assertThat(jpaTransactionTemplate.<String>execute(status -> currentDatabase())).isEqualTo("techmaa_replica");
+    }
+
+    @Test
+    void writeJpaTransactionsUseThePrimary() {
+        jpaTransactionTemplate.setReadOnly(false);
+        assertThat(jpaTransactionTemplate.<String>execute(status -> currentJpaDatabase())).isEqualTo("techmaa_primary");
+        assertThat(jpaTransactionTemplate.<String>execute(status -> currentDatabase())).isEqualTo("techmaa_primary");
+    }
+
+    private static String currentJpaDatabase() {
+        return (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult();
+    }
+
+    private static String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
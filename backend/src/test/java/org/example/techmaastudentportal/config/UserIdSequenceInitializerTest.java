@@ -0,0 +1,53 @@
+package org.example.techmaastudentportal.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.models.Student;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// users_seq, a native sequence or MySQL's emulation table depending on the dialect, has to move past existing ids
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // hibernate reads the emulation table in its own transaction
+class UserIdSequenceInitializerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_sequence");
+    }
+
+    @Test
+    void newUsersGetIdsPastTheExistingOnes() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_type, role, email, password, is_deleted, created_at, updated_at)
+                VALUES (1000, 'Student', 'STUDENT', 'legacy@sequence.local', 'x', false, NOW(), NOW())
+                """);
+
+        new UserIdSequenceInitializer(jdbcTemplate, entityManagerFactory).alignSequence();
+
+        Student student = new Student();
+        student.setEmail("new@sequence.local");
+        student.setPassword("x");
+        student.setRole(UserRole.STUDENT);
+        assertThat(studentRepository.saveAndFlush(student).getId()).isGreaterThan(1000);
+    }
+}
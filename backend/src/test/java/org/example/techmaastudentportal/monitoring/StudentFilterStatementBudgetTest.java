@@ -0,0 +1,98 @@
+package org.example.techmaastudentportal.monitoring;
+
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.specification.StudentSpecification;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// pins the query budget of /admin/students/filter: AdminService.getStudents hands its specification and sort to
+// findAllResponses, course titles come from the same select, so the statement count must not grow with the rows
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StudentFilterStatementBudgetTest {
+
+    private static final int STATEMENT_BUDGET = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_budget");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", SqlStatementCounter.class::getName);
+    }
+
+    @Test
+    void filterStaysWithinBudgetWhateverTheRowCount() {
+        jdbcTemplate.execute("INSERT INTO course (id, title, is_deleted) VALUES (1, 'Physics', false), (2, 'Chemistry', false), (3, 'History', false)");
+
+        seedStudents(1, 10);
+        SqlStatementCounter.Scope few = filter(10);
+
+        seedStudents(11, 500);
+        SqlStatementCounter.Scope many = filter(500);
+
+        few.assertAtMost(STATEMENT_BUDGET).assertNoRepeats(1);
+        many.assertAtMost(STATEMENT_BUDGET).assertNoRepeats(1);
+        assertThat(many.count()).isEqualTo(few.count());
+    }
+
+    @Test
+    void courseFilterReusesTheCourseJoin() {
+        jdbcTemplate.execute("INSERT INTO course (id, title, is_deleted) VALUES (1, 'Physics', false), (2, 'Chemistry', false), (3, 'History', false)");
+        seedStudents(1, 9);
+
+        StudentFilterReqDTO filter = new StudentFilterReqDTO();
+        filter.setCourseName("Physics");
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            assertThat(getStudents(filter)).hasSize(3).allSatisfy(student -> assertThat(student.getCourseTitle()).isEqualTo("Physics"));
+            assertThat(statements.statements()).singleElement()
+                    .satisfies(sql -> assertThat(sql.split("join course", -1)).as(sql).hasSize(2));
+        }
+    }
+
+    private SqlStatementCounter.Scope filter(int expectedRows) {
+        StudentFilterReqDTO filter = new StudentFilterReqDTO();
+        List<StudentResponseDTO> students;
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            students = getStudents(filter);
+            assertThat(students).hasSize(expectedRows);
+            assertThat(students).allSatisfy(student -> assertThat(student.getCourseTitle()).isNotNull());
+            return statements;
+        }
+    }
+
+    // what AdminService.getStudents runs for a filter without a keyword
+    private List<StudentResponseDTO> getStudents(StudentFilterReqDTO filter) {
+        return studentRepository.findAllResponses(new StudentSpecification(filter), Sort.by(filter.getSortBy()).ascending());
+    }
+
+    private void seedStudents(int from, int to) {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_type, role, email, phone, name, password, roll_no, department, gender,
+                                   course_id, marks, address, is_deleted, created_at, updated_at)
+                SELECT seq, 'Student', 'STUDENT', CONCAT('s', seq, '@budget.local'), CONCAT('9', LPAD(seq, 9, '0')),
+                       CONCAT('Student ', seq), 'x', CONCAT('STU', LPAD(seq, 6, '0')),
+                       ELT(seq % 4 + 1, 'SCIENCE', 'COMMERCE', 'ARTS', 'ENGINEERING'), ELT(seq % 3 + 1, 'MALE', 'FEMALE', 'OTHER'),
+                       seq % 3 + 1, seq % 100, 'Pune', false, NOW() - INTERVAL seq MINUTE, NOW()
+                FROM seq_1_to_1000
+                WHERE seq BETWEEN ? AND ?
+                """, from, to);
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.techmaastudentportal.repository;
+
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.specification.StudentSpecification;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs the hot users-table repository methods and StudentSpecification filters on an embedded MariaDB,
+// takes the exact SQL hibernate sent (values included) from the server's general log and fails when its EXPLAIN
+// scans the users table. the keyword filter is not covered: its LIKE is a residual filter behind StudentSearchIndex.
+// the tables are switched to a case-sensitive collation so the case-insensitive filters cannot lean on it
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserQueryPlanTest {
+
+    private static final int STUDENTS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_plan");
+    }
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class) > 0) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE users CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_bin");
+        jdbcTemplate.execute("ALTER TABLE course CONVERT TO CHARACTER SET utf8mb4 COLLATE utf8mb4_bin");
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE digits (d INT)");
+        jdbcTemplate.execute("INSERT INTO digits VALUES (0),(1),(2),(3),(4),(5),(6),(7),(8),(9)");
+        jdbcTemplate.execute("INSERT INTO course (id, title, is_deleted) SELECT d1.d * 10 + d2.d + 1, CONCAT('Course ', d1.d * 10 + d2.d), false FROM digits d1, digits d2");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_type, role, email, phone, name, password, roll_no, department, gender,
+                                   course_id, marks, address, is_deleted, created_at, updated_at)
+                SELECT n, 'Student', 'STUDENT', CONCAT('s', n, '@plan.local'), CONCAT('9', LPAD(n, 9, '0')), CONCAT('Student ', n), 'x',
+                       CONCAT('STU', LPAD(n, 6, '0')), ELT(n % 4 + 1, 'SCIENCE', 'COMMERCE', 'ARTS', 'ENGINEERING'),
+                       ELT(n % 3 + 1, 'MALE', 'FEMALE', 'OTHER'), n % 100 + 1, n % 100, 'Pune', n % 50 = 0,
+                       NOW() - INTERVAL n MINUTE, NOW() - INTERVAL n MINUTE
+                FROM (SELECT d1.d * 1000 + d2.d * 100 + d3.d * 10 + d4.d + 1 AS n
+                      FROM digits d1, digits d2, digits d3, digits d4) seq
+                WHERE n <= ?
+                """, STUDENTS);
+        jdbcTemplate.execute("ANALYZE TABLE users, course");
+    }
+
+    @Test
+    void repositoryLookups() {
+        assertNoTableScan(() -> studentRepository.findByRollNoAndIsDeletedFalse("STU000042"));
+        assertNoTableScan(() -> studentRepository.findByIdAndIsDeletedFalse(42L));
+        assertNoTableScan(() -> studentRepository.existsByPhoneAndIsDeletedFalse("9000000042"));
+        assertNoTableScan(() -> userRepository.existsByEmailAndIsDeletedFalse("s42@plan.local"));
+        assertNoTableScan(() -> userRepository.findLoginViewByEmailAndIsDeletedFalse("s42@plan.local"));
+        assertNoTableScan(() -> userRepository.findLoginViewByPhoneAndIsDeletedFalse("9000000042"));
+    }
+
+    @Test
+    void studentSpecificationFilters() {
+        assertNoTableScan(() -> filter(f -> f.setEmail("S42@plan.local")));
+        assertNoTableScan(() -> filter(f -> f.setPhone("9000000042")));
+        assertNoTableScan(() -> filter(f -> f.setName("student 42")));
+        assertNoTableScan(() -> filter(f -> f.setRollNo("STU000042")));
+        assertNoTableScan(() -> filter(f -> f.setCourseName("course 7")));
+        assertNoTableScan(() -> filter(f -> {
+            f.setDepartment("ARTS");
+            f.setGender("OTHER");
+        }));
+        assertNoTableScan(() -> filter(f -> f.setMarks(97.0)));
+    }
+
+    @Test
+    void mixedCaseFiltersMatchRegardlessOfCollation() {
+        assertThat(filterResults(f -> f.setEmail(" S42@Plan.LOCAL "))).singleElement()
+                .satisfies(student -> assertThat(student.getEmail()).isEqualTo("s42@plan.local"));
+        assertThat(filterResults(f -> f.setName("STUDENT 42"))).singleElement()
+                .satisfies(student -> assertThat(student.getName()).isEqualTo("Student 42"));
+        assertThat(filterResults(f -> f.setCourseName("cOURSE 7"))).isNotEmpty()
+                .allSatisfy(student -> assertThat(student.getCourseTitle()).isEqualTo("Course 7"));
+    }
+
+    @Test
+    void keysetPageSortedByCreatedAt() {
+        assertNoTableScan(() -> studentRepository.findPageResponses(new StudentSpecification(new StudentFilterReqDTO()),
+                Sort.by("createdAt", "id"), "createdAt", 51));
+    }
+
+    private void filter(Consumer<StudentFilterReqDTO> filter) {
+        filterResults(filter);
+    }
+
+    private List<StudentResponseDTO> filterResults(Consumer<StudentFilterReqDTO> filter) {
+        StudentFilterReqDTO filterDTO = new StudentFilterReqDTO();
+        filter.accept(filterDTO);
+        return studentRepository.findAllResponses(new StudentSpecification(filterDTO), Sort.by("createdAt"));
+    }
+
+    // runs the query with the general log on and EXPLAINs every users statement it sent
+    private void assertNoTableScan(Runnable query) {
+        Timestamp since = jdbcTemplate.queryForObject("SELECT NOW(6)", Timestamp.class);
+        jdbcTemplate.execute("SET GLOBAL log_output = 'TABLE'");
+        jdbcTemplate.execute("SET GLOBAL general_log = 'ON'");
+        try {
+            query.run();
+        } finally {
+            jdbcTemplate.execute("SET GLOBAL general_log = 'OFF'");
+        }
+        List<String> statements = jdbcTemplate.queryForList("""
+                SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log
+                WHERE event_time >= ? AND command_type IN ('Query', 'Execute')
+                  AND CONVERT(argument USING utf8mb4) LIKE 'select%from users%'
+                  AND CONVERT(argument USING utf8mb4) NOT LIKE '%general_log%'
+                ORDER BY event_time
+                """, String.class, since);
+        assertThat(statements).as("hibernate statements in the general log").isNotEmpty();
+
+        for (String sql : statements) {
+            for (Map<String, Object> step : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+                boolean fullScan = "ALL".equals(step.get("type")) && ((Number) step.get("rows")).longValue() >= STUDENTS / 2;
+                assertThat(fullScan)
+                        .as("plan for %s scans %s (%s rows, key %s)", sql, step.get("table"), step.get("rows"), step.get("key"))
+                        .isFalse();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.techmaastudentportal.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.service.AdminService;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the index only narrows the search: results must equal a case-insensitive substring match on name or address
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StudentSearchIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path indexPath;
+
+    private StudentSearchIndex index;
+    private AdminService adminService;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_search");
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        insertStudent(1, "Sriram Iyer", "12 MG Road, Pune");
+        insertStudent(2, "Anita Desai", "Koregaon Park, Pune");
+        insertStudent(3, "Abcx Bcd", "Nashik"); // every trigram of "abcd", but not the substring
+        // polling disabled, the tests call syncChanges themselves
+        index = new StudentSearchIndex(studentRepository, transactionManager, indexPath.toString(), 5000,
+                3_600_000, 3_600_000, Duration.ofSeconds(30));
+        index.rebuildIfStale();
+        adminService = new AdminService(null, studentRepository, null, null, null, index, new SimpleMeterRegistry(), new JsonMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void matchesSubstringsOfNameAndAddressIgnoringCase() {
+        assertThat(names("iram")).containsExactly("Sriram Iyer");
+        assertThat(names("SRIRAM")).containsExactly("Sriram Iyer");
+        assertThat(names("  mg road ")).containsExactly("Sriram Iyer");
+        assertThat(names("pune")).containsExactlyInAnyOrder("Sriram Iyer", "Anita Desai");
+        assertThat(names("nowhere")).isEmpty();
+    }
+
+    @Test
+    void trigramFalsePositivesAreDroppedByTheQuery() {
+        assertThat(index.search("abcd").getIds()).contains(3L);
+        assertThat(names("abcd")).isEmpty();
+    }
+
+    @Test
+    void keywordsShorterThanATrigramFallBackToTheQuery() {
+        assertThat(index.search("ab")).isNull();
+        assertThat(names("sr")).containsExactly("Sriram Iyer");
+    }
+
+    @Test
+    void rowsWrittenElsewhereAreFoundBeforeAndAfterTheSync() throws Exception {
+        insertStudent(4, "Meera Sriraman", "Nagpur"); // as another node would, no event reaches this index
+
+        assertThat(index.search("sriram").getIds()).doesNotContain(4L);
+        assertThat(names("sriram")).containsExactlyInAnyOrder("Sriram Iyer", "Meera Sriraman");
+
+        index.syncChanges();
+        assertThat(index.search("sriram").getIds()).contains(4L);
+
+        jdbcTemplate.update("UPDATE users SET is_deleted = true, updated_at = NOW() WHERE id = 4");
+        index.syncChanges();
+        assertThat(index.search("sriram").getIds()).doesNotContain(4L);
+        assertThat(names("sriram")).containsExactly("Sriram Iyer");
+    }
+
+    @Test
+    void normalisationIgnoresTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertThat(StudentSearchIndex.normalize(" IYER ")).isEqualTo("iyer");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private List<String> names(String keyword) {
+        StudentFilterReqDTO filter = new StudentFilterReqDTO();
+        filter.setKeyword(keyword);
+        return adminService.getStudents(filter).stream().map(StudentResponseDTO::getName).toList();
+    }
+
+    private void insertStudent(long id, String name, String address) {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_type, role, email, name, password, roll_no, address, is_deleted, version, created_at, updated_at)
+                VALUES (?, 'Student', 'STUDENT', ?, ?, 'x', ?, ?, false, 0, NOW(), NOW())
+                """, id, "s" + id + "@search.local", name, String.format("STU%06d", id), address);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.techmaastudentportal.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, 5000, new SimpleMeterRegistry())) {
+            String hash = encoder.encode("secret");
+
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("other", hash)).isFalse();
+        }
+    }
+
+    @Test
+    void encodeAllReturnsHashesInInputOrder() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, 5000, new SimpleMeterRegistry())) {
+            List<String> passwords = List.of("a", "b", "c", "d", "e");
+            List<String> hashes = encoder.encodeAll(passwords);
+
+            assertThat(hashes).hasSize(passwords.size());
+            for (int i = 0; i < passwords.size(); i++) {
+                assertThat(encoder.matches(passwords.get(i), hashes.get(i))).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void upgradesOnlyWeakerHashes() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 1, 1, 5000, new SimpleMeterRegistry())) {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        }
+    }
+
+    @Test
+    void waitPastTheTimeoutIsRejected() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // a strength 14 hash takes far longer than 1 ms on any machine
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(14, 1, 1, 1, meterRegistry)) {
+            assertThatThrownBy(() -> encoder.encode("secret")).isInstanceOf(TooManyRequestsException.class);
+            assertThat(meterRegistry.counter("security.password.rejected").count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void calibrationStaysWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrateStrength(0)).isEqualTo(BoundedPasswordEncoder.MIN_STRENGTH);
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Long.MAX_VALUE)).isEqualTo(BoundedPasswordEncoder.MAX_STRENGTH);
+    }
+}
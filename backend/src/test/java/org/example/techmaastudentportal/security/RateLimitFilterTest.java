@@ -0,0 +1,88 @@
+package org.example.techmaastudentportal.security;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+    private static final String LOGIN = "{\"email\":\"limited@test.local\",\"password\":\"x\"}";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // generous per-IP limit, one attempt per identity
+        filter = new RateLimitFilter(null, 1000, 1000, 1, 1, 1000, false);
+    }
+
+    @Test
+    void identityIsLimitedAndTheBodyStillReachesTheController() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse first = post(LOGIN, "application/json", chain);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LOGIN);
+
+        assertThat(post(LOGIN, "application/json", new MockFilterChain()).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void otherJsonContentTypesAreLimitedToo() throws Exception {
+        assertThat(post(LOGIN, "application/json", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(post(LOGIN, "application/vnd.login+json", new MockFilterChain()).getStatus()).isEqualTo(429);
+        assertThat(post(LOGIN, "text/plain", new MockFilterChain()).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void paddedBodyIsRejectedInsteadOfSkippingTheIdentityLimit() throws Exception {
+        assertThat(post(LOGIN, "application/json", new MockFilterChain()).getStatus()).isEqualTo(200);
+
+        String padded = LOGIN.replace("{", "{" + " ".repeat(20_000));
+        MockFilterChain chain = new MockFilterChain();
+        assertThat(post(padded, "application/json", chain).getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void chunkedBodyIsReadOnlyUpToTheLimit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login/password") {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setServletPath("/auth/login/password");
+        request.setContentType("application/json");
+        request.setContent(new byte[1024 * 1024]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(request.getInputStream().available()).isGreaterThan(0); // the rest was never buffered
+    }
+
+    private MockHttpServletResponse post(String body, String contentType, MockFilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login/password");
+        request.setServletPath("/auth/login/password");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.techmaastudentportal.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRevocationRegistryTest {
+
+    private static final long HOUR = 3_600_000;
+
+    private UserRevocationRegistry registry;
+    private MessageListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForZSet()).thenReturn(mock(ZSetOperations.class));
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+        registry = new UserRevocationRegistry(redisTemplate, listenerContainer, HOUR);
+        ArgumentCaptor<MessageListener> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), any(Topic.class));
+        listener = captor.getValue();
+    }
+
+    @Test
+    void onlyTokensIssuedBeforeTheRevocationAreRevoked() {
+        long now = System.currentTimeMillis();
+        registry.revoke(7L);
+
+        assertThat(registry.isRevoked(7L, new Date(now - 10_000))).isTrue();
+        assertThat(registry.isRevoked(7L, null)).isTrue();
+        assertThat(registry.isRevoked(7L, new Date(now + 2_000))).isFalse();
+        assertThat(registry.isRevoked(8L, new Date(now - 10_000))).isFalse();
+    }
+
+    @Test
+    void revocationsFromOtherNodesKeepTheirTime() {
+        long revokedAt = System.currentTimeMillis() - 60_000;
+        publish("9:" + revokedAt);
+
+        assertThat(registry.isRevoked(9L, new Date(revokedAt - 5_000))).isTrue();
+        assertThat(registry.isRevoked(9L, new Date(revokedAt + 5_000))).isFalse();
+    }
+
+    @Test
+    void malformedMessagesAreIgnored() {
+        assertThatCode(() -> {
+            publish("not-a-revocation");
+            publish("10:");
+            publish("");
+        }).doesNotThrowAnyException();
+
+        assertThat(registry.isRevoked(10L, new Date())).isFalse();
+    }
+
+    private void publish(String body) {
+        listener.onMessage(new DefaultMessage("auth:user-revocations".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+}
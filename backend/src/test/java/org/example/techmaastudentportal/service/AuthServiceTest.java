@@ -0,0 +1,74 @@
+package org.example.techmaastudentportal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.dto.UserEmailOTPLoginReqDTO;
+import org.example.techmaastudentportal.dto.UserLoginReqDTO;
+import org.example.techmaastudentportal.dto.UserLoginView;
+import org.example.techmaastudentportal.enums.UserRole;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
+import org.example.techmaastudentportal.repository.UserRepository;
+import org.example.techmaastudentportal.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    @Test
+    void loginSucceedsWhenTheHashUpgradeIsRejected() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        UserLoginView user = mock(UserLoginView.class);
+        when(user.getId()).thenReturn(7L);
+        when(user.getRole()).thenReturn(UserRole.STUDENT);
+        when(user.getPassword()).thenReturn("$2a$10$old");
+        when(userRepository.findLoginViewByEmailAndIsDeletedFalse("s@techmaa.local")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "$2a$10$old")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$old")).thenReturn(true);
+        when(passwordEncoder.encode(any())).thenThrow(new TooManyRequestsException("busy"));
+        when(jwtUtil.generateToken(7L, "STUDENT")).thenReturn("token");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuthService authService = new AuthService(userRepository, passwordEncoder, jwtUtil, null, null, meterRegistry);
+
+        UserLoginReqDTO login = new UserLoginReqDTO();
+        login.setEmail("s@techmaa.local");
+        login.setPassword("secret");
+        LoginResult result = authService.login(login);
+
+        assertThat(result.getToken()).isEqualTo("token");
+        verify(userRepository, never()).rehashPassword(anyLong(), anyString(), anyString());
+        assertThat(meterRegistry.counter("security.password.rehash.skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedOtpMailRevokesTheCodeItCarried() {
+        UserRepository userRepository = mock(UserRepository.class);
+        OtpStore otpStore = mock(OtpStore.class);
+        Notification notification = mock(Notification.class);
+        when(userRepository.existsByEmailAndIsDeletedFalse("s@techmaa.local")).thenReturn(true);
+        doThrow(new TooManyRequestsException("busy")).when(notification).sendNotification(any());
+        AuthService authService = new AuthService(userRepository, null, null, otpStore, notification, new SimpleMeterRegistry());
+
+        UserEmailOTPLoginReqDTO request = new UserEmailOTPLoginReqDTO();
+        request.setEmail("s@techmaa.local");
+
+        assertThatThrownBy(() -> authService.generateEmailOTP(request)).isInstanceOf(TooManyRequestsException.class);
+        ArgumentCaptor<String> otp = ArgumentCaptor.forClass(String.class);
+        InOrder order = inOrder(otpStore, notification);
+        order.verify(otpStore).issue(eq("s@techmaa.local"), otp.capture());
+        order.verify(notification).sendNotification(any());
+        order.verify(otpStore).revoke("s@techmaa.local", otp.getValue());
+    }
+}
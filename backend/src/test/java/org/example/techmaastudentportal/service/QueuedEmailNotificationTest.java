@@ -0,0 +1,100 @@
+package org.example.techmaastudentportal.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.example.techmaastudentportal.dto.NotificationReqDTO;
+import org.example.techmaastudentportal.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class QueuedEmailNotificationTest {
+
+    private GreenMail greenMail;
+    private QueuedEmailNotification notification;
+
+    @BeforeEach
+    void startSmtp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (notification != null) {
+            notification.shutdown();
+        }
+        greenMail.stop();
+    }
+
+    @Test
+    void queuedMailsReachTheSmtpServer() throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        notification = new QueuedEmailNotification(mailSender, meterRegistry, 100, 2, 20, 3, 10);
+
+        for (int i = 1; i <= 5; i++) {
+            notification.sendNotification(email("student" + i + "@mail.local", "OTP " + i));
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 5)).isTrue();
+        assertThat(Arrays.stream(greenMail.getReceivedMessages()).map(QueuedEmailNotificationTest::subject))
+                .containsExactlyInAnyOrder("OTP 1", "OTP 2", "OTP 3", "OTP 4", "OTP 5");
+        notification.shutdown();
+        assertThat(meterRegistry.counter("notification.email.sent").count()).isEqualTo(5);
+    }
+
+    @Test
+    void fullQueueIsRejectedWithTooManyRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        JavaMailSender stuckSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return null;
+        }).when(stuckSender).send(any(SimpleMailMessage[].class));
+        notification = new QueuedEmailNotification(stuckSender, new SimpleMeterRegistry(), 1, 1, 1, 1, 10);
+
+        notification.sendNotification(email("first@mail.local", "held by the worker"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        notification.sendNotification(email("second@mail.local", "fills the queue"));
+
+        assertThatThrownBy(() -> notification.sendNotification(email("third@mail.local", "rejected")))
+                .isInstanceOf(TooManyRequestsException.class);
+        release.countDown();
+    }
+
+    private static NotificationReqDTO email(String to, String subject) {
+        NotificationReqDTO email = new NotificationReqDTO();
+        email.setTo(to);
+        email.setSubject(subject);
+        email.setBody("Your One-Time-Password (OTP) for login is: 123456");
+        return email;
+    }
+
+    private static String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
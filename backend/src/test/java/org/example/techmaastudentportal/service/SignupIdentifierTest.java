@@ -0,0 +1,87 @@
+package org.example.techmaastudentportal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.dto.AdminSignupReqDTO;
+import org.example.techmaastudentportal.dto.AdminSignupResponseDTO;
+import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
+import org.example.techmaastudentportal.dto.StudentSignupResponseDTO;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
+import org.example.techmaastudentportal.repository.AdminRepository;
+import org.example.techmaastudentportal.repository.CourseRepository;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// rollNo/adminId are generated by the insert, the signup response and event must see them inside the transaction
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SignupIdentifierTest {
+
+    // hashing is not under test here
+    private static final PasswordEncoder PASSWORD_ENCODER = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{stub}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_signup");
+    }
+
+    @Test
+    void studentSignupReturnsAndPublishesTheRollNo() {
+        List<Object> events = new ArrayList<>();
+        StudentService studentService = new StudentService(studentRepository, courseRepository, PASSWORD_ENCODER,
+                null, null, events::add);
+        StudentSignupReqDTO request = new StudentSignupReqDTO();
+        request.setEmail("roll@signup.local");
+        request.setName("Roll Number");
+        request.setPassword("secret");
+
+        StudentSignupResponseDTO response = studentService.signUp(request);
+
+        assertThat(response.getRollNo()).matches("STU\\d{6}");
+        assertThat(events).singleElement()
+                .satisfies(event -> assertThat(((StudentChangedEvent) event).getAfter().getRollNo()).isEqualTo(response.getRollNo()));
+    }
+
+    @Test
+    void adminSignupReturnsTheAdminId() {
+        AdminService adminService = new AdminService(adminRepository, studentRepository, PASSWORD_ENCODER,
+                null, null, null, new SimpleMeterRegistry(), new JsonMapper());
+        AdminSignupReqDTO request = new AdminSignupReqDTO();
+        request.setEmail("admin@signup.local");
+        request.setName("Admin");
+        request.setPassword("secret");
+
+        AdminSignupResponseDTO response = adminService.registerAdmin(request);
+
+        assertThat(response.getAdminId()).matches("AD\\d{6}");
+    }
+}
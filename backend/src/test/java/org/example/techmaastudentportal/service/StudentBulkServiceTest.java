@@ -0,0 +1,90 @@
+package org.example.techmaastudentportal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.example.techmaastudentportal.dto.BulkStudentRegistrationResponseDTO;
+import org.example.techmaastudentportal.dto.BulkStudentRowResultDTO;
+import org.example.techmaastudentportal.dto.StudentSignupReqDTO;
+import org.example.techmaastudentportal.repository.CourseRepository;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.repository.UserRepository;
+import org.example.techmaastudentportal.security.BoundedPasswordEncoder;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// chunks commit on their own, so the test runs outside a test transaction and cleans up after itself
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudentBulkServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_bulk");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void duplicateInsertedAfterTheCheckFailsOnlyItsRow() {
+        // the uniqueness check sees nothing taken, as when a concurrent signup lands between the check and the insert
+        UserRepository staleCheck = mock(UserRepository.class);
+        jdbcTemplate.update("""
+                INSERT INTO users (id, user_type, role, email, name, password, is_deleted, created_at, updated_at)
+                VALUES (900000, 'Student', 'STUDENT', 'taken@bulk.local', 'Racer', 'x', false, NOW(), NOW())
+                """);
+
+        try (BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(4, 2, 4, 5000, new SimpleMeterRegistry())) {
+            StudentBulkService bulkService = new StudentBulkService(staleCheck, studentRepository, courseRepository, passwordEncoder,
+                    Validation.buildDefaultValidatorFactory().getValidator(), entityManager, transactionManager, event -> { });
+
+            BulkStudentRegistrationResponseDTO response = bulkService.registerStudents(List.of(
+                    student("first@bulk.local"), student("taken@bulk.local"), student("third@bulk.local")));
+
+            assertThat(response.getCreated()).isEqualTo(2);
+            assertThat(response.getResults()).extracting(BulkStudentRowResultDTO::getStatus)
+                    .containsExactly("CREATED", "FAILED", "CREATED");
+            assertThat(response.getResults().get(1).getMessage()).isEqualTo("Student with given email or phone already exists.");
+            assertThat(response.getResults().get(0).getRollNo()).isNotNull();
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class)).isEqualTo(3);
+    }
+
+    private static StudentSignupReqDTO student(String email) {
+        StudentSignupReqDTO student = new StudentSignupReqDTO();
+        student.setEmail(email);
+        student.setName("Bulk " + email);
+        student.setPassword("secret");
+        return student;
+    }
+}
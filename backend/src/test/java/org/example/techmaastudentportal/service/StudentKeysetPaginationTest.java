@@ -0,0 +1,80 @@
+package org.example.techmaastudentportal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.techmaastudentportal.dto.StudentFilterReqDTO;
+import org.example.techmaastudentportal.dto.StudentPageResponseDTO;
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.example.techmaastudentportal.support.EmbeddedMariaDB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// walks every page of getStudentPage and expects exactly the rows, in the order, of one ORDER BY over the table
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StudentKeysetPaginationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private AdminService adminService;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) throws Exception {
+        EmbeddedMariaDB.register(registry, "techmaa_keyset");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // few distinct values per column so pages split runs of equal values, every sixth row has no marks or name
+        for (int n = 1; n <= 30; n++) {
+            jdbcTemplate.update("""
+                    INSERT INTO users (id, user_type, role, email, name, password, roll_no, marks, is_deleted, created_at, updated_at)
+                    VALUES (?, 'Student', 'STUDENT', ?, ?, 'x', ?, ?, false, NOW() - INTERVAL ? MINUTE, NOW())
+                    """, n, "s" + n + "@keyset.local", n % 6 == 0 ? null : "Student " + n % 4,
+                    String.format("STU%06d", n), n % 6 == 0 ? null : (double) (n % 3) * 10, n % 5);
+        }
+        adminService = new AdminService(null, studentRepository, null, null, null, null, new SimpleMeterRegistry(), new JsonMapper());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "marks, marks, asc", "marks, marks, desc",
+            "name, name, asc", "name, name, desc",
+            "createdAt, created_at, asc", "createdAt, created_at, desc",
+            "rollNo, roll_no, desc", "id, id, asc"
+    })
+    void pagesCoverEveryRowOnceInOrder(String sortBy, String column, String sortDir) {
+        List<String> expected = jdbcTemplate.queryForList(
+                "SELECT roll_no FROM users WHERE user_type = 'Student' ORDER BY " + column + " " + sortDir + ", id " + sortDir,
+                String.class);
+
+        StudentFilterReqDTO filter = new StudentFilterReqDTO();
+        filter.setSortBy(sortBy);
+        filter.setSortDir(sortDir);
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            StudentPageResponseDTO page = adminService.getStudentPage(filter, cursor, 4);
+            page.getStudents().stream().map(StudentResponseDTO::getRollNo).forEach(paged::add);
+            cursor = page.isHasNext() ? page.getNextCursor() : null;
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+}
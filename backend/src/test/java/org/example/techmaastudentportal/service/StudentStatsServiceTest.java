@@ -0,0 +1,60 @@
+package org.example.techmaastudentportal.service;
+
+import org.example.techmaastudentportal.dto.StudentResponseDTO;
+import org.example.techmaastudentportal.enums.Department;
+import org.example.techmaastudentportal.event.StudentChangedEvent;
+import org.example.techmaastudentportal.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentStatsServiceTest {
+
+    private final StudentRepository studentRepository = mock(StudentRepository.class);
+
+    @Test
+    void deltasArrivingDuringTheLoadAreKept() {
+        StudentStatsService statsService = new StudentStatsService(studentRepository, Duration.ofMinutes(15));
+        when(studentRepository.countActiveByDepartment()).thenAnswer(invocation -> {
+            // committed after the GROUP BY read its snapshot, so only the event knows about it
+            statsService.onStudentChanged(StudentChangedEvent.created(3L, student(Department.SCIENCE)));
+            return List.<Object[]>of(new Object[]{Department.SCIENCE, 2L}, new Object[]{null, 1L});
+        });
+
+        assertThat(statsService.getStats(StudentStatsService.DEPARTMENT)).isEqualTo(Map.of("SCIENCE", 3L, "UNASSIGNED", 1L));
+    }
+
+    @Test
+    void deltasApplyBetweenLoads() {
+        StudentStatsService statsService = new StudentStatsService(studentRepository, Duration.ofMinutes(15));
+        when(studentRepository.countActiveByDepartment())
+                .thenReturn(List.<Object[]>of(new Object[]{Department.SCIENCE, 2L}));
+        assertThat(statsService.getStats(StudentStatsService.DEPARTMENT)).isEqualTo(Map.of("SCIENCE", 2L));
+
+        statsService.onStudentChanged(StudentChangedEvent.updated(1L, student(Department.SCIENCE), student(Department.ARTS)));
+        assertThat(statsService.getStats(StudentStatsService.DEPARTMENT)).isEqualTo(Map.of("SCIENCE", 1L, "ARTS", 1L));
+    }
+
+    @Test
+    void expiredCountersAreReloaded() {
+        StudentStatsService statsService = new StudentStatsService(studentRepository, Duration.ZERO);
+        when(studentRepository.countActiveByGender())
+                .thenReturn(List.<Object[]>of(new Object[]{"MALE", 2L}))
+                .thenReturn(List.<Object[]>of(new Object[]{"MALE", 5L}));
+
+        assertThat(statsService.getStats(StudentStatsService.GENDER)).isEqualTo(Map.of("MALE", 2L));
+        assertThat(statsService.getStats(StudentStatsService.GENDER)).isEqualTo(Map.of("MALE", 5L));
+    }
+
+    private static StudentResponseDTO student(Department department) {
+        StudentResponseDTO student = new StudentResponseDTO();
+        student.setDepartment(department);
+        return student;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.techmaastudentportal.support;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import ch.vorburger.mariadb4j.DBConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+// one embedded MariaDB per test JVM, each test class gets its own database in it. stopped by MariaDB4j's shutdown hook
+public final class EmbeddedMariaDB {
+    private static DB db;
+    private static int port;
+
+    private EmbeddedMariaDB() {
+    }
+
+    // a jdbc:mysql url, mysql-connector-j is the only driver on the classpath
+    public static synchronized String url(String database) throws Exception {
+        if (db == null) {
+            DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+            config.setPort(0); // any free port
+            config.addArg("--user=root"); // lets the server start in containers that run the build as root
+            DBConfiguration configuration = config.build();
+            db = DB.newEmbeddedDB(configuration);
+            db.start();
+            port = config.getPort();
+        }
+        // over JDBC rather than db.createDB, which needs the mariadb client binary
+        try (Connection connection = DriverManager.getConnection(urlOf("mysql"), "root", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE IF NOT EXISTS `" + database + "`");
+        }
+        return urlOf(database);
+    }
+
+    // points spring.datasource at the database and lets hibernate create the schema
+    public static void register(DynamicPropertyRegistry registry, String database) throws Exception {
+        String url = url(database);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    private static String urlOf(String database) {
+        return "jdbc:mysql://localhost:" + port + "/" + database;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.techmaastudentportal.util;
+
+import org.example.techmaastudentportal.exception.BadRequestException;
+import org.example.techmaastudentportal.specification.StudentCursor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @Test
+    void roundTripsEverySortValue() {
+        for (String value : new String[]{"2024-05-01T10:15:30", "97.5", "", "null", "two\nlines", null}) {
+            StudentCursor cursor = new StudentCursor("name", "desc", value, 42L);
+
+            assertThat(CursorUtil.decode(CursorUtil.encode(cursor))).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> CursorUtil.decode("%%%")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorUtil.decode(CursorUtil.encode(new StudentCursor("name", "asc", null, 1L)).substring(0, 4)))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.techmaastudentportal.util;
+
+import org.example.techmaastudentportal.enums.Department;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentImportParserTest {
+
+    @Test
+    void invalidCellsFailOnlyTheirRow() {
+        String csv = """
+                name,email,department,gender,age
+                Valid,valid@import.local,arts,male,19
+                Broken,broken@import.local,HISTORY,male,nineteen
+                Also Valid,also@import.local,SCIENCE,female,20
+                """;
+
+        StudentImport studentImport = StudentImportParser.parse(
+                new MockMultipartFile("file", "students.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(studentImport.getStudents()).hasSize(3);
+        assertThat(studentImport.getStudents().get(0).getDepartment()).isEqualTo(Department.ARTS);
+        assertThat(studentImport.getStudents().get(1).getEmail()).isEqualTo("broken@import.local");
+        assertThat(studentImport.getErrors()).isEqualTo(Map.of(1, "Invalid department value: HISTORY; Invalid age value: nineteen"));
+    }
+}